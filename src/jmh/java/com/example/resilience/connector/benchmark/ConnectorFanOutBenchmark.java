@@ -0,0 +1,93 @@
+package com.example.resilience.connector.benchmark;
+
+import com.example.resilience.connector.Connector;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.metrics.LatencyRecorderRegistry;
+import com.example.resilience.connector.model.CommandDescriptor;
+import com.example.resilience.connector.model.CommandDescriptorBuilder;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.pipeline.EndpointPipelineRegistry;
+import com.example.resilience.connector.pipeline.ReplaceableCircuitBreakerRegistry;
+import com.example.resilience.connector.pipeline.ReplaceableRateLimiterRegistry;
+import com.example.resilience.connector.template.RedisTemplateRegistry;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.anEndpointConfiguration;
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectorFanOutBenchmark
+{
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int fanOut;
+
+    private ClientResources clientResources;
+    private RedisTemplateRegistry redisTemplateRegistry;
+    private EndpointPipelineRegistry endpointPipelineRegistry;
+    private Connector connector;
+    private List<CommandDescriptor<String>> descriptors;
+
+    @Setup
+    public void setUp()
+    {
+        clientResources = DefaultClientResources.create();
+        redisTemplateRegistry = new RedisTemplateRegistry(clientResources);
+        endpointPipelineRegistry = new EndpointPipelineRegistry(ReplaceableCircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), ReplaceableRateLimiterRegistry.ofDefaults(), redisTemplateRegistry,
+                new LatencyRecorderRegistry());
+        connector = new Connector(endpointPipelineRegistry);
+
+        // the bulkhead has to admit the whole fan-out, otherwise the benchmark measures rejections
+        EndpointConfiguration configuration = anEndpointConfiguration().withName("fan-out-" + fanOut)
+                                                                       .withBulkhead(fanOut)
+                                                                       .withTimeout(Duration.ofSeconds(5))
+                                                                       .withCircuitBreakerBufferSize(100)
+                                                                       .withLoggingEnabled(false)
+                                                                       .build();
+
+        descriptors = IntStream.range(0, fanOut)
+                               .mapToObj(i -> CommandDescriptorBuilder.aCommandDescriptorWithStringResult()
+                                                                      .withCommand(new InMemoryCommand("key-" + i))
+                                                                      .withEndpointConfiguration(configuration)
+                                                                      .build())
+                               .collect(toList());
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        endpointPipelineRegistry.destroy();
+        redisTemplateRegistry.destroy();
+        clientResources.shutdown();
+    }
+
+    @Benchmark
+    public List<Result<String>> executeCollection()
+    {
+        return connector.executeBlocking(descriptors);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.resilience.connector.benchmark;
+
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.model.CacheKey;
+import reactor.core.publisher.Mono;
+
+public class InMemoryCommand implements ICommand
+{
+    static final String RESPONSE = "in-memory-response";
+
+    private final CacheKey cacheKey;
+
+    public InMemoryCommand(String key)
+    {
+        this.cacheKey = CacheKey.valueOf(key);
+    }
+
+    @Override
+    public Mono<String> execute()
+    {
+        return Mono.just(RESPONSE);
+    }
+
+    @Override
+    public CacheKey generateCacheKey()
+    {
+        return cacheKey;
+    }
+}
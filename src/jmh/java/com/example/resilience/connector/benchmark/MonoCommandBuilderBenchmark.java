@@ -0,0 +1,149 @@
+package com.example.resilience.connector.benchmark;
+
+import com.example.resilience.connector.cache.CacheValueCodec;
+import com.example.resilience.connector.cache.EndpointCache;
+import com.example.resilience.connector.cache.NearCache;
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.command.MonoCommandBuilder;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.NearCacheConfiguration;
+import com.example.resilience.connector.logging.LogContext;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.template.RedisTemplateRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.lettuce.core.resource.ClientResources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.anEndpointConfiguration;
+import static com.example.resilience.connector.serialization.Serializers.STRING_DESERIALIZER;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MonoCommandBuilderBenchmark
+{
+    @Param({"false", "true"})
+    public boolean circuitBreakerEnabled;
+
+    @Param({"false", "true"})
+    public boolean rateLimiterEnabled;
+
+    @Param({"false", "true"})
+    public boolean bulkheadEnabled;
+
+    // only a near cache hit is measured, a redis round trip would need a redis
+    // instance and measure the network rather than the decorators
+    @Param({"false", "true"})
+    public boolean nearCacheHit;
+
+    @Param({"false", "true"})
+    public boolean loggingEnabled;
+
+    private ICommand command;
+    private EndpointConfiguration configuration;
+    private CircuitBreaker circuitBreaker;
+    private RateLimiter rateLimiter;
+    private Bulkhead bulkhead;
+    private EndpointCache endpointCache;
+    private ClientResources clientResources;
+    private RedisTemplateRegistry redisTemplateRegistry;
+
+    @Setup
+    public void setUp()
+    {
+        command = new InMemoryCommand("benchmark");
+        configuration = anEndpointConfiguration().withName("benchmark")
+                                                 .withTimeout(Duration.ofSeconds(5))
+                                                 .withCacheEnabled(nearCacheHit)
+                                                 .withLoggingEnabled(loggingEnabled)
+                                                 .build();
+
+        circuitBreaker = circuitBreakerEnabled ? CircuitBreaker.ofDefaults("benchmark") : null;
+        rateLimiter = rateLimiterEnabled ? givenUnlimitedRateLimiter() : null;
+        bulkhead = bulkheadEnabled
+                ? Bulkhead.of("benchmark", BulkheadConfig.custom().maxConcurrentCalls(Integer.MAX_VALUE).build())
+                : null;
+
+        if (nearCacheHit)
+        {
+            // the response is put into the near cache up front, the template is
+            // never used
+            NearCache nearCache = NearCache.create(new NearCacheConfiguration(true, 1_000, Duration.ofHours(1)));
+            nearCache.put(command.generateCacheKey(), InMemoryCommand.RESPONSE);
+            clientResources = ClientResources.create();
+            redisTemplateRegistry = new RedisTemplateRegistry(clientResources);
+            endpointCache = new EndpointCache(redisTemplateRegistry.binaryRedisTemplate("localhost", 6379),
+                    configuration.getCacheConfiguration().getTtlConfiguration(), nearCache, null, null,
+                    new CacheValueCodec(configuration.getCacheConfiguration().getCompressionConfiguration(), false),
+                    null);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (endpointCache == null)
+        {
+            return;
+        }
+
+        // the registry closes the redis connection, the client resources own its threads
+        endpointCache.dispose();
+        redisTemplateRegistry.destroy();
+        clientResources.shutdown();
+    }
+
+    @Benchmark
+    public Result<String> buildAndSubscribe()
+    {
+        Mono<Result<String>> mono = MonoCommandBuilder.<String>aBuilder(command)
+                .withEndpointConfiguration(configuration)
+                .withCircuitBreaker(circuitBreaker)
+                .withRateLimiter(rateLimiter)
+                .withBulkhead(bulkhead)
+                .withEndpointCache(endpointCache)
+                .withDeserializer(STRING_DESERIALIZER)
+                .build();
+
+        if (loggingEnabled)
+        {
+            return mono.subscriberContext(Context.of(LogContext.class, LogContext.create())).block();
+        }
+
+        return mono.block();
+    }
+
+    private RateLimiter givenUnlimitedRateLimiter()
+    {
+        RateLimiterConfig rateLimiterConfig = RateLimiterConfig.custom()
+                                                               .limitForPeriod(Integer.MAX_VALUE)
+                                                               .limitRefreshPeriod(Duration.ofSeconds(1))
+                                                               .timeoutDuration(Duration.ZERO)
+                                                               .build();
+
+        return RateLimiter.of("benchmark", rateLimiterConfig);
+    }
+}
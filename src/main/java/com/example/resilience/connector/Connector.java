@@ -1,41 +1,31 @@
 package com.example.resilience.connector;
 
-import com.example.resilience.connector.command.MonoCommandBuilder;
-import com.example.resilience.connector.configuration.EndpointConfiguration;
-import com.example.resilience.connector.configuration.RateLimitConfiguration;
 import com.example.resilience.connector.model.CommandDescriptor;
 import com.example.resilience.connector.model.Result;
-import io.github.resilience4j.bulkhead.Bulkhead;
-import io.github.resilience4j.bulkhead.BulkheadConfig;
-import io.github.resilience4j.bulkhead.BulkheadRegistry;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterConfig;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import com.example.resilience.connector.pipeline.EndpointPipeline;
+import com.example.resilience.connector.pipeline.EndpointPipelineRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 @Component
 public class Connector
 {
-    private final CircuitBreakerRegistry circuitBreakerRegistry;
-    private final BulkheadRegistry bulkheadRegistry;
-    private final RateLimiterRegistry rateLimiterRegistry;
+    private final EndpointPipelineRegistry endpointPipelineRegistry;
 
     @Autowired
-    public Connector(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
-            RateLimiterRegistry rateLimiterRegistry)
+    public Connector(EndpointPipelineRegistry endpointPipelineRegistry)
     {
-        this.circuitBreakerRegistry = circuitBreakerRegistry;
-        this.bulkheadRegistry = bulkheadRegistry;
-        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.endpointPipelineRegistry = endpointPipelineRegistry;
     }
 
     public <T> Result<T> executeBlocking(CommandDescriptor<T> commandDescriptor)
@@ -45,26 +35,7 @@ public class Connector
 
     public <T> Mono<Result<T>> execute(CommandDescriptor<T> commandDescriptor)
     {
-        EndpointConfiguration configuration = commandDescriptor.getEndpointConfiguration();
-        String endpointName = configuration.getName();
-
-        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(endpointName,
-                CircuitBreakerConfig.custom()
-                                    .ringBufferSizeInClosedState(configuration.getCircuitBreakerBufferSize())
-                                    .build());
-
-        Bulkhead bulkhead = bulkheadRegistry.bulkhead(endpointName,
-                BulkheadConfig.custom().maxConcurrentCalls(configuration.getBulkhead()).build());
-
-        RateLimiter rateLimiter = rateLimiter(endpointName, configuration.getRateLimitConfiguration());
-
-        return MonoCommandBuilder.<T>aBuilder(commandDescriptor.getCommand())
-                .withEndpointConfiguration(configuration)
-                .withCircuitBreaker(circuitBreaker)
-                .withBulkhead(bulkhead)
-                .withRateLimiter(rateLimiter)
-                .withDeserializer(commandDescriptor.getDeserializer())
-                .build();
+        return pipeline(commandDescriptor).execute(commandDescriptor);
     }
 
     public <T> List<Result<T>> executeBlocking(Collection<? extends CommandDescriptor<T>> commandDescriptors)
@@ -74,21 +45,23 @@ public class Connector
 
     public <T> Flux<Result<T>> execute(Collection<? extends CommandDescriptor<T>> commandDescriptors)
     {
-        return Flux.fromIterable(commandDescriptors)
-                   .flatMap(this::execute, commandDescriptors.size());
+        return Flux.defer(() ->
+        {
+            // descriptors of one endpoint are executed together, so
+            // their cache lookups can be batched
+            Map<EndpointPipeline, List<CommandDescriptor<T>>> descriptorsByPipeline =
+                    commandDescriptors.stream()
+                                      .<CommandDescriptor<T>>map(descriptor -> descriptor)
+                                      .collect(groupingBy(this::pipeline, LinkedHashMap::new, toList()));
+
+            return Flux.fromIterable(descriptorsByPipeline.entrySet())
+                       .flatMap(entry -> entry.getKey().executeBatch(entry.getValue()),
+                               Math.max(1, descriptorsByPipeline.size()));
+        });
     }
 
-    private RateLimiter rateLimiter(String endpointName, RateLimitConfiguration configuration)
+    private EndpointPipeline pipeline(CommandDescriptor<?> commandDescriptor)
     {
-        if (!configuration.isRateLimitEnabled())
-        {
-            return null;
-        }
-
-        return rateLimiterRegistry.rateLimiter(endpointName,
-                RateLimiterConfig.custom()
-                                 .limitForPeriod(configuration.getRateLimitPermitsPerPeriod())
-                                 .limitRefreshPeriod(configuration.getRateLimitPeriod())
-                                 .build());
+        return endpointPipelineRegistry.pipeline(commandDescriptor.getEndpointConfiguration());
     }
 }
@@ -0,0 +1,26 @@
+package com.example.resilience.connector.cache;
+
+import com.example.resilience.connector.model.CacheKey;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class BackgroundRefreshTracker
+{
+    private final Set<CacheKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    public boolean tryStart(CacheKey cacheKey)
+    {
+        return refreshing.add(cacheKey);
+    }
+
+    public void finish(CacheKey cacheKey)
+    {
+        refreshing.remove(cacheKey);
+    }
+
+    public int getInFlightCount()
+    {
+        return refreshing.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.resilience.connector.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public final class CacheEntry
+{
+    private static final long UNKNOWN_WRITE_TIME = -1;
+
+    private final String value;
+    private final long writtenAtMillis;
+
+    private CacheEntry(String value, long writtenAtMillis)
+    {
+        this.value = value;
+        this.writtenAtMillis = writtenAtMillis;
+    }
+
+    public static CacheEntry writtenAt(String value, long writtenAtMillis)
+    {
+        return new CacheEntry(value, writtenAtMillis);
+    }
+
+    public static CacheEntry withoutWriteTime(String value)
+    {
+        return new CacheEntry(value, UNKNOWN_WRITE_TIME);
+    }
+
+    public String getValue()
+    {
+        return value;
+    }
+
+    public long ageMillis(long nowMillis)
+    {
+        // entries without a write time stay fresh until their hard ttl ends
+        return writtenAtMillis == UNKNOWN_WRITE_TIME ? 0 : Math.max(0, nowMillis - writtenAtMillis);
+    }
+}
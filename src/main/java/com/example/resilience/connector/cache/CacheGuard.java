@@ -0,0 +1,130 @@
+package com.example.resilience.connector.cache;
+
+import com.example.resilience.connector.configuration.CacheGuardConfiguration;
+import com.example.resilience.connector.metrics.RollingLatencyWindow;
+import com.example.resilience.connector.model.Result;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerOpenException;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+public final class CacheGuard
+{
+    private final CacheGuardConfiguration configuration;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicLong bypassedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final RollingLatencyWindow latencyWindow;
+
+    public CacheGuard(CircuitBreaker circuitBreaker, CacheGuardConfiguration configuration)
+    {
+        this.configuration = configuration;
+        this.circuitBreaker = circuitBreaker;
+        this.latencyWindow = new RollingLatencyWindow(configuration.getTimeoutPercentile());
+    }
+
+    public static CacheGuard create(String name, CacheGuardConfiguration configuration,
+            BiFunction<String, CircuitBreakerConfig, CircuitBreaker> circuitBreakers)
+    {
+        // registered like the endpoint breakers, so it is visible and survives
+        // a rebuild with the same thresholds
+        CircuitBreaker circuitBreaker = circuitBreakers.apply(name + "-cache",
+                CircuitBreakerConfig.custom()
+                                    .ringBufferSizeInClosedState(configuration.getCircuitBreakerBufferSize())
+                                    .waitDurationInOpenState(configuration.getWaitDurationInOpenState())
+                                    .build());
+
+        return new CacheGuard(circuitBreaker, configuration);
+    }
+
+    public Duration timeout()
+    {
+        long latencyNanos = latencyWindow.getObservedNanos();
+
+        // until a full window is observed the cache gets the upper bound
+        if (latencyNanos == RollingLatencyWindow.NOT_OBSERVED)
+        {
+            return configuration.getMaxTimeout();
+        }
+
+        long timeoutNanos = (long) (latencyNanos * configuration.getTimeoutMultiplier());
+
+        return Duration.ofNanos(Math.max(configuration.getMinTimeout().toNanos(),
+                Math.min(configuration.getMaxTimeout().toNanos(), timeoutNanos)));
+    }
+
+    public <T> Mono<T> guard(Mono<T> cacheCall)
+    {
+        return Mono.defer(() ->
+        {
+            long start = System.nanoTime();
+
+            return cacheCall.timeout(timeout())
+                            .transform(CircuitBreakerOperator.of(circuitBreaker))
+                            .doOnSuccess(value -> record(null, System.nanoTime() - start))
+                            .doOnError(throwable -> record(throwable, System.nanoTime() - start));
+        });
+    }
+
+    public <T> Mono<Result<T>> observe(Mono<Result<T>> cacheCommand)
+    {
+        // for cache commands that already carry the circuit breaker and the
+        // timeout of this guard
+        return Mono.defer(() ->
+        {
+            long start = System.nanoTime();
+
+            return cacheCommand.doOnNext(result -> record(result.getThrowable(), System.nanoTime() - start));
+        });
+    }
+
+    private void record(Throwable throwable, long nanos)
+    {
+        if (throwable == null)
+        {
+            latencyWindow.record(nanos);
+        }
+        else if (throwable instanceof CircuitBreakerOpenException)
+        {
+            bypassedCount.incrementAndGet();
+        }
+        else if (throwable instanceof TimeoutException)
+        {
+            // a timed out call took at least this long, left out the percentile
+            // would only see the fast calls and the timeout would shrink
+            timedOutCount.incrementAndGet();
+            latencyWindow.record(nanos);
+        }
+        else
+        {
+            failedCount.incrementAndGet();
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker()
+    {
+        return circuitBreaker;
+    }
+
+    public long getBypassedCount()
+    {
+        return bypassedCount.get();
+    }
+
+    public long getTimedOutCount()
+    {
+        return timedOutCount.get();
+    }
+
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.resilience.connector.cache;
+
+import com.example.resilience.connector.configuration.CacheCompressionConfiguration;
+import com.example.resilience.connector.metrics.LatencyHistogram;
+import com.example.resilience.connector.metrics.LatencySnapshot;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class CacheValueCodec
+{
+    // the first byte of a stored value is its header when it is below this
+    // limit, no JSON or UTF-8 text starts so
+    private static final int RESERVED_HEADER_LIMIT = 0x08;
+    private static final byte PLAIN_HEADER = 0x00;
+    private static final byte TIMESTAMP_HEADER = 0x02;
+    // the inflated length and the raw deflate bytes behind the header
+    private static final byte DEFLATE_V2_HEADER = 0x03;
+    private static final byte TIMESTAMP_SEPARATOR = ':';
+
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+    private final boolean timestamped;
+
+    private final AtomicLong compressedCount = new AtomicLong();
+    private final AtomicLong incompressibleCount = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final LatencyHistogram encodeLatency = new LatencyHistogram();
+    private final LatencyHistogram decodeLatency = new LatencyHistogram();
+
+    public CacheValueCodec(CacheCompressionConfiguration configuration, boolean timestamped)
+    {
+        this.compressionEnabled = configuration.isCompressionEnabled();
+        this.compressionThreshold = configuration.getCompressionThreshold();
+        this.timestamped = timestamped;
+    }
+
+    public byte[] encode(String value)
+    {
+        return encode(value, System.currentTimeMillis());
+    }
+
+    public byte[] encode(String value, long writtenAtMillis)
+    {
+        // the write time travels with the value, one GET tells its age
+        byte[] encoded = encodeValue(value.getBytes(UTF_8));
+
+        if (!timestamped)
+        {
+            return encoded;
+        }
+
+        byte[] millis = Long.toString(writtenAtMillis).getBytes(US_ASCII);
+
+        return ByteBuffer.allocate(millis.length + encoded.length + 2)
+                         .put(TIMESTAMP_HEADER)
+                         .put(millis)
+                         .put(TIMESTAMP_SEPARATOR)
+                         .put(encoded)
+                         .array();
+    }
+
+    public String decode(byte[] value)
+    {
+        CacheEntry entry = decodeEntry(value);
+
+        return entry == null ? null : entry.getValue();
+    }
+
+    public CacheEntry decodeEntry(byte[] value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+
+        if (value.length == 0 || value[0] != TIMESTAMP_HEADER)
+        {
+            return CacheEntry.withoutWriteTime(decodeValue(value, 0));
+        }
+
+        int separator = indexOf(value, TIMESTAMP_SEPARATOR);
+
+        if (separator < 0)
+        {
+            throw new IllegalStateException("Cache value timestamp is truncated.");
+        }
+
+        return CacheEntry.writtenAt(decodeValue(value, separator + 1),
+                Long.parseLong(new String(value, 1, separator - 1, US_ASCII)));
+    }
+
+    private byte[] encodeValue(byte[] raw)
+    {
+        if (!compressionEnabled || raw.length < compressionThreshold)
+        {
+            return encodePlain(raw);
+        }
+
+        long start = System.nanoTime();
+        byte[] encoded = CacheValueCompression.deflate(DEFLATE_V2_HEADER, raw);
+
+        encodeLatency.record(System.nanoTime() - start);
+
+        if (encoded.length >= raw.length)
+        {
+            incompressibleCount.incrementAndGet();
+            return encodePlain(raw);
+        }
+
+        compressedCount.incrementAndGet();
+        uncompressedBytes.addAndGet(raw.length);
+        compressedBytes.addAndGet(encoded.length);
+
+        return encoded;
+    }
+
+    private String decodeValue(byte[] value, int offset)
+    {
+        if (value.length == offset || Byte.toUnsignedInt(value[offset]) >= RESERVED_HEADER_LIMIT)
+        {
+            return new String(value, offset, value.length - offset, UTF_8);
+        }
+
+        if (value[offset] == PLAIN_HEADER)
+        {
+            return new String(value, offset + 1, value.length - offset - 1, UTF_8);
+        }
+
+        long start = System.nanoTime();
+        String decoded = new String(inflate(value, offset), UTF_8);
+
+        decodeLatency.record(System.nanoTime() - start);
+
+        return decoded;
+    }
+
+    private static byte[] inflate(byte[] value, int offset)
+    {
+        if (value[offset] != DEFLATE_V2_HEADER)
+        {
+            throw new IllegalStateException("Unknown cache value header: " + value[offset]);
+        }
+
+        return CacheValueCompression.inflate(value, offset + 1);
+    }
+
+    private static byte[] encodePlain(byte[] raw)
+    {
+        // a plain value that happens to start like a header gets the plain
+        // header, so it is not misread
+        if (raw.length == 0 || Byte.toUnsignedInt(raw[0]) >= RESERVED_HEADER_LIMIT)
+        {
+            return raw;
+        }
+
+        return ByteBuffer.allocate(raw.length + 1).put(PLAIN_HEADER).put(raw).array();
+    }
+
+    private static int indexOf(byte[] value, byte target)
+    {
+        for (int i = 0; i < value.length; i++)
+        {
+            if (value[i] == target)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public long getCompressedCount()
+    {
+        return compressedCount.get();
+    }
+
+    public long getIncompressibleCount()
+    {
+        return incompressibleCount.get();
+    }
+
+    public long getUncompressedBytes()
+    {
+        return uncompressedBytes.get();
+    }
+
+    public long getCompressedBytes()
+    {
+        return compressedBytes.get();
+    }
+
+    public double getCompressionRatio()
+    {
+        long uncompressed = uncompressedBytes.get();
+
+        return uncompressed == 0 ? 1 : (double) compressedBytes.get() / uncompressed;
+    }
+
+    public LatencySnapshot getEncodeLatency()
+    {
+        return encodeLatency.snapshot();
+    }
+
+    public LatencySnapshot getDecodeLatency()
+    {
+        return decodeLatency.snapshot();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.resilience.connector.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public final class CacheValueCompression
+{
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_INFLATED_BYTES = 64 * 1024 * 1024;
+
+    private CacheValueCompression()
+    {
+    }
+
+    public static byte[] deflate(byte header, byte[] raw)
+    {
+        // a deflater holds native memory until it is ended, none outlives a call
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try
+        {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 4 + 64);
+            output.write(header);
+            output.write(ByteBuffer.allocate(LENGTH_BYTES).putInt(raw.length).array(), 0, LENGTH_BYTES);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            while (!deflater.finished())
+            {
+                int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+
+            return output.toByteArray();
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    public static byte[] inflate(byte[] value, int offset)
+    {
+        if (value.length < offset + LENGTH_BYTES)
+        {
+            throw new IllegalStateException("Compressed cache value is truncated.");
+        }
+
+        int inflatedLength = ByteBuffer.wrap(value, offset, LENGTH_BYTES).getInt();
+
+        // the stored length is checked before anything is allocated for it
+        if (inflatedLength < 0 || inflatedLength > MAX_INFLATED_BYTES)
+        {
+            throw new IllegalStateException("Compressed cache value is too large: " + inflatedLength + " bytes.");
+        }
+
+        byte[] inflated = inflate(value, offset + LENGTH_BYTES, inflatedLength);
+
+        if (inflated.length != inflatedLength)
+        {
+            throw new IllegalStateException("Compressed cache value is truncated.");
+        }
+
+        return inflated;
+    }
+
+    private static byte[] inflate(byte[] compressed, int offset, int maxLength)
+    {
+        Inflater inflater = new Inflater();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.min(maxLength, BUFFER_SIZE));
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try
+        {
+            inflater.setInput(compressed, offset, compressed.length - offset);
+
+            while (!inflater.finished())
+            {
+                int length = inflateChunk(inflater, buffer);
+
+                if (output.size() + length > maxLength)
+                {
+                    throw new IllegalStateException("Compressed cache value inflates beyond " + maxLength + " bytes.");
+                }
+
+                output.write(buffer, 0, length);
+            }
+        }
+        finally
+        {
+            inflater.end();
+        }
+
+        return output.toByteArray();
+    }
+
+    private static int inflateChunk(Inflater inflater, byte[] buffer)
+    {
+        try
+        {
+            int length = inflater.inflate(buffer);
+
+            if (length == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+            {
+                throw new IllegalStateException("Compressed cache value is truncated.");
+            }
+
+            return length;
+        }
+        catch (DataFormatException e)
+        {
+            throw new IllegalStateException("Compressed cache value is corrupt.", e);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.resilience.connector.cache;
+
+import com.example.resilience.connector.configuration.CacheWriteBehindConfiguration;
+import com.example.resilience.connector.configuration.WriteBehindDropPolicy;
+import com.example.resilience.connector.model.CacheKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReactiveRedisConnection.BooleanResponse;
+import org.springframework.data.redis.connection.ReactiveStringCommands.SetCommand;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class CacheWriteBehindQueue implements Disposable
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheWriteBehindQueue.class);
+    private static final Duration WRITE_TIMEOUT = Duration.ofMillis(5000);
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final Duration timeToLive;
+    private final CacheValueCodec cacheValueCodec;
+    private final CacheGuard cacheGuard;
+    private final CacheWriteBehindConfiguration configuration;
+    private final int batchSize;
+    private final Scheduler scheduler = Schedulers.parallel();
+
+    // insertion ordered for drop oldest, a second write of a queued key
+    // only replaces its value; every access holds the map's monitor
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicBoolean disposed = new AtomicBoolean();
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public CacheWriteBehindQueue(ReactiveRedisTemplate<String, byte[]> redisTemplate, Duration timeToLive,
+            CacheValueCodec cacheValueCodec, CacheGuard cacheGuard, CacheWriteBehindConfiguration configuration)
+    {
+        this.redisTemplate = redisTemplate;
+        this.timeToLive = timeToLive;
+        this.cacheValueCodec = cacheValueCodec;
+        this.cacheGuard = cacheGuard;
+        this.configuration = configuration;
+        this.batchSize = Math.max(1, configuration.getBatchSize());
+    }
+
+    public void enqueue(CacheKey cacheKey, String rawResponse)
+    {
+        String key = cacheKey.getValue();
+        int size;
+        boolean wasEmpty;
+
+        synchronized (pending)
+        {
+            if (pending.containsKey(key))
+            {
+                pending.put(key, rawResponse);
+                coalescedCount.incrementAndGet();
+                return;
+            }
+
+            if (pending.size() >= configuration.getCapacity())
+            {
+                droppedCount.incrementAndGet();
+
+                if (configuration.getDropPolicy() == WriteBehindDropPolicy.DROP_NEWEST || pending.isEmpty())
+                {
+                    return;
+                }
+
+                Iterator<String> oldest = pending.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+
+            wasEmpty = pending.isEmpty();
+            pending.put(key, rawResponse);
+            queuedCount.incrementAndGet();
+            size = pending.size();
+        }
+
+        if (size >= batchSize || disposed.get())
+        {
+            flush();
+        }
+        else if (wasEmpty)
+        {
+            scheduleFlush();
+        }
+    }
+
+    @Override
+    public void dispose()
+    {
+        // a retired queue writes out what is pending without waiting
+        if (disposed.compareAndSet(false, true))
+        {
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return disposed.get();
+    }
+
+    private void scheduleFlush()
+    {
+        scheduler.schedule(this::flush, configuration.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void flush()
+    {
+        // one batch in flight at a time, so a newer value of a key is never
+        // overtaken by an older one
+        if (!flushing.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        Map<String, String> batch = drainBatch();
+
+        if (batch.isEmpty())
+        {
+            flushing.set(false);
+            return;
+        }
+
+        // the batch goes out as one stream of set commands on the connection,
+        // values are encoded here, off the request path and once per key
+        Mono.fromCallable(() -> toSetCommands(batch))
+            .flatMap(commands -> guard(writeAll(commands)))
+            .onErrorReturn((long) batch.size())
+            .doFinally(signalType -> afterFlush())
+            .subscribe(failed -> recordFlush(batch.size(), failed));
+    }
+
+    private Map<String, String> drainBatch()
+    {
+        Map<String, String> batch = new ConcurrentHashMap<>();
+
+        synchronized (pending)
+        {
+            Iterator<Map.Entry<String, String>> iterator = pending.entrySet().iterator();
+
+            while (iterator.hasNext() && batch.size() < batchSize)
+            {
+                Map.Entry<String, String> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        return batch;
+    }
+
+    private List<SetCommand> toSetCommands(Map<String, String> batch)
+    {
+        SerializationPair<String> keys = redisTemplate.getSerializationContext().getKeySerializationPair();
+        List<SetCommand> commands = new ArrayList<>(batch.size());
+
+        batch.forEach((key, value) ->
+        {
+            SetCommand command = SetCommand.set(keys.write(key)).value(ByteBuffer.wrap(cacheValueCodec.encode(value)));
+
+            // mset has no expiry, each set carries the ttl of its own entry
+            commands.add(timeToLive == null
+                    ? command
+                    : command.expiring(Expiration.from(timeToLive.toMillis(), TimeUnit.MILLISECONDS)));
+        });
+
+        return commands;
+    }
+
+    private Mono<Long> writeAll(List<SetCommand> commands)
+    {
+        return redisTemplate.execute(connection -> connection.stringCommands().set(Flux.fromIterable(commands)))
+                            .map(BooleanResponse::getOutput)
+                            .filter(written -> !written)
+                            .count();
+    }
+
+    private Mono<Long> guard(Mono<Long> write)
+    {
+        // with an open cache circuit a flush fails at once instead of waiting
+        // for the write to time out
+        return cacheGuard == null ? write.timeout(WRITE_TIMEOUT) : cacheGuard.guard(write);
+    }
+
+    private void recordFlush(int entries, long failed)
+    {
+        flushedCount.addAndGet(entries - failed);
+
+        if (failed > 0)
+        {
+            failedCount.addAndGet(failed);
+            LOGGER.warn("Write behind flush failed for {} of {} cache entries", failed, entries);
+        }
+    }
+
+    private void afterFlush()
+    {
+        flushing.set(false);
+
+        int size = getSize();
+
+        if (size >= batchSize || size > 0 && disposed.get())
+        {
+            flush();
+        }
+        else if (size > 0)
+        {
+            scheduleFlush();
+        }
+    }
+
+    public int getSize()
+    {
+        synchronized (pending)
+        {
+            return pending.size();
+        }
+    }
+
+    public long getQueuedCount()
+    {
+        return queuedCount.get();
+    }
+
+    public long getCoalescedCount()
+    {
+        return coalescedCount.get();
+    }
+
+    public long getDroppedCount()
+    {
+        return droppedCount.get();
+    }
+
+    public long getFlushedCount()
+    {
+        return flushedCount.get();
+    }
+
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.resilience.connector.cache;
+
+import com.example.resilience.connector.configuration.CacheConfiguration;
+import com.example.resilience.connector.configuration.CacheTtlConfiguration;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.Disposable;
+
+import java.util.function.BiFunction;
+
+public final class EndpointCache implements Disposable
+{
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final CacheTtlConfiguration ttlConfiguration;
+    private final NearCache nearCache;
+    private final BackgroundRefreshTracker refreshTracker;
+    private final CacheWriteBehindQueue writeBehindQueue;
+    private final CacheValueCodec valueCodec;
+    private final CacheGuard guard;
+
+    public EndpointCache(ReactiveRedisTemplate<String, byte[]> redisTemplate, CacheTtlConfiguration ttlConfiguration,
+            NearCache nearCache, BackgroundRefreshTracker refreshTracker, CacheWriteBehindQueue writeBehindQueue,
+            CacheValueCodec valueCodec, CacheGuard guard)
+    {
+        this.redisTemplate = redisTemplate;
+        this.ttlConfiguration = ttlConfiguration;
+        this.nearCache = nearCache;
+        this.refreshTracker = refreshTracker;
+        this.writeBehindQueue = writeBehindQueue;
+        this.valueCodec = valueCodec;
+        this.guard = guard;
+    }
+
+    public static EndpointCache create(String name, CacheConfiguration configuration,
+            ReactiveRedisTemplate<String, byte[]> redisTemplate,
+            BiFunction<String, CircuitBreakerConfig, CircuitBreaker> circuitBreakers)
+    {
+        CacheTtlConfiguration ttlConfiguration = configuration.getTtlConfiguration();
+
+        // always created, so compressed entries stay readable with compression off
+        CacheValueCodec valueCodec = new CacheValueCodec(configuration.getCompressionConfiguration(),
+                ttlConfiguration.isSoftExpiryEnabled());
+        CacheGuard guard = configuration.getGuardConfiguration().isCacheGuardEnabled()
+                ? CacheGuard.create(name, configuration.getGuardConfiguration(), circuitBreakers)
+                : null;
+        CacheWriteBehindQueue writeBehindQueue = configuration.getWriteBehindConfiguration().isWriteBehindEnabled()
+                ? new CacheWriteBehindQueue(redisTemplate, ttlConfiguration.getHardTimeToLive(), valueCodec, guard,
+                        configuration.getWriteBehindConfiguration())
+                : null;
+        BackgroundRefreshTracker refreshTracker = ttlConfiguration.isStaleWhileRevalidateEnabled()
+                ? new BackgroundRefreshTracker()
+                : null;
+
+        return new EndpointCache(redisTemplate, ttlConfiguration, createNearCache(configuration), refreshTracker,
+                writeBehindQueue, valueCodec, guard);
+    }
+
+    private static NearCache createNearCache(CacheConfiguration configuration)
+    {
+        if (!configuration.getNearCacheConfiguration().isNearCacheEnabled())
+        {
+            return null;
+        }
+
+        return NearCache.create(configuration.getNearCacheConfiguration());
+    }
+
+    @Override
+    public void dispose()
+    {
+        if (writeBehindQueue != null)
+        {
+            writeBehindQueue.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return writeBehindQueue == null || writeBehindQueue.isDisposed();
+    }
+
+    public ReactiveRedisTemplate<String, byte[]> getRedisTemplate()
+    {
+        return redisTemplate;
+    }
+
+    public CacheTtlConfiguration getTtlConfiguration()
+    {
+        return ttlConfiguration;
+    }
+
+    public NearCache getNearCache()
+    {
+        return nearCache;
+    }
+
+    public BackgroundRefreshTracker getRefreshTracker()
+    {
+        return refreshTracker;
+    }
+
+    public CacheWriteBehindQueue getWriteBehindQueue()
+    {
+        return writeBehindQueue;
+    }
+
+    public CacheValueCodec getValueCodec()
+    {
+        return valueCodec;
+    }
+
+    public CacheGuard getGuard()
+    {
+        return guard;
+    }
+}
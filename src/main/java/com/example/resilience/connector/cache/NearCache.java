@@ -0,0 +1,66 @@
+package com.example.resilience.connector.cache;
+
+import com.example.resilience.connector.configuration.NearCacheConfiguration;
+import com.example.resilience.connector.model.CacheKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+
+public final class NearCache
+{
+    private final Cache<CacheKey, String> cache;
+
+    private NearCache(Cache<CacheKey, String> cache)
+    {
+        this.cache = cache;
+    }
+
+    public static NearCache create(NearCacheConfiguration configuration)
+    {
+        // Caffeine evicts with W-TinyLFU, so one-off keys do not push hot entries out
+        Cache<CacheKey, String> cache = Caffeine.newBuilder()
+                                                .maximumSize(configuration.getMaximumSize())
+                                                .expireAfterWrite(configuration.getTimeToLive().toNanos(),
+                                                        TimeUnit.NANOSECONDS)
+                                                .recordStats()
+                                                .build();
+
+        return new NearCache(cache);
+    }
+
+    public String get(CacheKey cacheKey)
+    {
+        return cache.getIfPresent(cacheKey);
+    }
+
+    public void put(CacheKey cacheKey, String rawResponse)
+    {
+        cache.put(cacheKey, rawResponse);
+    }
+
+    public void invalidate(CacheKey cacheKey)
+    {
+        cache.invalidate(cacheKey);
+    }
+
+    public long getSize()
+    {
+        return cache.estimatedSize();
+    }
+
+    public long getHitCount()
+    {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount()
+    {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount()
+    {
+        return cache.stats().evictionCount();
+    }
+}
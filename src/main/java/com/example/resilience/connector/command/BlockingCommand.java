@@ -12,5 +12,10 @@ public abstract class BlockingCommand implements ICommand
                    .subscribeOn(Schedulers.elastic());
     }
 
+    public final Mono<String> execute(BlockingCommandScheduler blockingCommandScheduler)
+    {
+        return blockingCommandScheduler.execute(this::executeBlocking);
+    }
+
     protected abstract String executeBlocking() throws Exception;
 }
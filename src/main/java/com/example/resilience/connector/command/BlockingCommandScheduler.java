@@ -0,0 +1,318 @@
+package com.example.resilience.connector.command;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// running blocking calls on threads of its own is what this class is for
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class BlockingCommandScheduler implements Disposable
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockingCommandScheduler.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = virtualThreadExecutorFactory();
+
+    private final String name;
+    private final int threads;
+    private final int queueCapacity;
+    private final boolean virtualThreadsEnabled;
+    // created on the first blocking call, most endpoints never make one
+    private final AtomicReference<ExecutorPool> executorPool = new AtomicReference<>();
+    private final AtomicBoolean disposed = new AtomicBoolean();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public BlockingCommandScheduler(String name, int threads, int queueCapacity)
+    {
+        this(name, threads, queueCapacity, false);
+    }
+
+    public BlockingCommandScheduler(String name, int threads, int queueCapacity, boolean virtualThreadsEnabled)
+    {
+        this.name = name;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    public static boolean isVirtualThreadSupported()
+    {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    public <T> Mono<T> execute(Callable<T> blockingCall)
+    {
+        return Mono.defer(() ->
+        {
+            ExecutorPool pool = acquirePool();
+
+            return Mono.fromCallable(() -> call(blockingCall))
+                       .subscribeOn(pool.getScheduler())
+                       .doFinally(signalType -> pool.release(disposed.get()));
+        }).onErrorMap(RejectedExecutionException.class, e -> new BlockingSchedulerSaturatedException(
+                "Blocking scheduler of " + name + " is saturated.", e));
+    }
+
+    @Override
+    public void dispose()
+    {
+        // a replaced pipeline drains: running and queued calls complete and the
+        // pool shuts down after the last one, calls assembled before the swap
+        // (e.g. a pending retry or hedge) still run instead of being rejected
+        ExecutorPool current = executorPool.get();
+
+        if (disposed.compareAndSet(false, true) && current != null)
+        {
+            current.retire();
+        }
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return disposed.get();
+    }
+
+    private ExecutorPool acquirePool()
+    {
+        while (true)
+        {
+            ExecutorPool current = executorPool.get();
+
+            if (current != null && current.tryAcquire())
+            {
+                return current;
+            }
+
+            if (current == null || executorPool.compareAndSet(current, null))
+            {
+                // created on first use, and again for a late call that comes
+                // after a drained pool already shut down
+                ExecutorPool created = createPool();
+
+                if (!executorPool.compareAndSet(null, created))
+                {
+                    // another call won the race, the unused pool started no thread yet
+                    created.retire();
+                }
+            }
+        }
+    }
+
+    private ExecutorPool createPool()
+    {
+        ExecutorService virtualThreadExecutor = virtualThreadsEnabled ? virtualThreadExecutor(name) : null;
+
+        // a virtual thread per call, the bulkhead in front of the command is
+        // what caps the concurrency
+        return new ExecutorPool(virtualThreadExecutor == null
+                ? boundedExecutor(name, threads, queueCapacity)
+                : virtualThreadExecutor);
+    }
+
+    private <T> T call(Callable<T> blockingCall) throws Exception
+    {
+        activeCount.incrementAndGet();
+
+        try
+        {
+            return blockingCall.call();
+        }
+        finally
+        {
+            activeCount.decrementAndGet();
+            completedCount.incrementAndGet();
+        }
+    }
+
+    private ThreadPoolExecutor boundedExecutor(String name, int threads, int queueCapacity)
+    {
+        BlockingQueue<Runnable> queue =
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                queue, threadFactory(name), (task, rejectingExecutor) -> reject());
+
+        // idle endpoints keep no threads, so a replaced
+        // pipeline does not leave a pool behind
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    private void reject()
+    {
+        rejectedCount.incrementAndGet();
+        throw new RejectedExecutionException("Task rejected by the blocking scheduler of " + name);
+    }
+
+    private static ThreadFactory threadFactory(String name)
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return runnable ->
+        {
+            Thread thread = new Thread(runnable, name + "-blocking-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ExecutorService virtualThreadExecutor(String name)
+    {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR == null)
+        {
+            LOGGER.warn("Virtual threads are not available, {} falls back to a bounded thread pool.", name);
+            return null;
+        }
+
+        try
+        {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            // e.g. a JDK that only has virtual threads as a preview feature, the
+            // factory then fails with an UnsupportedOperationException as cause
+            LOGGER.warn("Virtual threads can not be used, {} falls back to a bounded thread pool: {}", name,
+                    e.toString());
+            return null;
+        }
+    }
+
+    private static Method virtualThreadExecutorFactory()
+    {
+        // the connector is built for Java 11, so the Java 21
+        // factory is looked up at runtime
+        try
+        {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }
+        catch (NoSuchMethodException e)
+        {
+            return null;
+        }
+    }
+
+    public boolean isVirtualThreads()
+    {
+        ExecutorPool current = executorPool.get();
+
+        return current != null && !(current.getExecutorService() instanceof ThreadPoolExecutor);
+    }
+
+    public int getQueueDepth()
+    {
+        ExecutorPool current = executorPool.get();
+
+        if (current == null || !(current.getExecutorService() instanceof ThreadPoolExecutor))
+        {
+            return 0;
+        }
+
+        return ((ThreadPoolExecutor) current.getExecutorService()).getQueue().size();
+    }
+
+    public int getActiveThreads()
+    {
+        return activeCount.get();
+    }
+
+    public int getMaxThreads()
+    {
+        return threads;
+    }
+
+    public double getUtilization()
+    {
+        return (double) activeCount.get() / threads;
+    }
+
+    public long getCompletedCount()
+    {
+        return completedCount.get();
+    }
+
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    private static final class ExecutorPool
+    {
+        private final ExecutorService executorService;
+        private final Scheduler scheduler;
+        // calls holding the pool, negative once it shut down
+        private final AtomicInteger users = new AtomicInteger();
+
+        public ExecutorPool(ExecutorService executorService)
+        {
+            this.executorService = executorService;
+            this.scheduler = Schedulers.fromExecutorService(executorService);
+        }
+
+        public ExecutorService getExecutorService()
+        {
+            return executorService;
+        }
+
+        public Scheduler getScheduler()
+        {
+            return scheduler;
+        }
+
+        public boolean tryAcquire()
+        {
+            int current = users.get();
+
+            while (current >= 0)
+            {
+                if (users.compareAndSet(current, current + 1))
+                {
+                    return true;
+                }
+
+                current = users.get();
+            }
+
+            return false;
+        }
+
+        public void release(boolean retired)
+        {
+            if (users.decrementAndGet() == 0 && retired)
+            {
+                retire();
+            }
+        }
+
+        public void retire()
+        {
+            // only an idle pool shuts down, otherwise its last call does
+            if (users.compareAndSet(0, -1))
+            {
+                executorService.shutdown();
+            }
+        }
+    }
+}
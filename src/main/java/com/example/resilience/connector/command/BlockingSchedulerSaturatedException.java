@@ -0,0 +1,9 @@
+package com.example.resilience.connector.command;
+
+public class BlockingSchedulerSaturatedException extends RuntimeException
+{
+    public BlockingSchedulerSaturatedException(String message, Throwable cause)
+    {
+        super(message, cause);
+    }
+}
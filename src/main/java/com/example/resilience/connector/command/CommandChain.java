@@ -0,0 +1,143 @@
+package com.example.resilience.connector.command;
+
+import com.example.resilience.connector.cache.EndpointCache;
+import com.example.resilience.connector.command.decorator.CacheCommandExecutor;
+import com.example.resilience.connector.command.decorator.CacheDecorator;
+import com.example.resilience.connector.command.decorator.RequestCoalescer;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.loadbalancing.InstanceBalancer;
+import com.example.resilience.connector.logging.LogContext;
+import com.example.resilience.connector.model.CacheKey;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.serialization.Deserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+import static com.example.resilience.connector.util.MonoOperators.doWithContext;
+
+public final class CommandChain
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandChain.class);
+
+    private final EndpointConfiguration configuration;
+    private final InstanceBalancer instanceBalancer;
+    private final BlockingCommandScheduler blockingCommandScheduler;
+    private final EndpointCache endpointCache;
+    private final CacheCommandExecutor cacheCommandExecutor;
+    private final RequestCoalescer requestCoalescer;
+    private final Function<Mono<Result<Object>>, Mono<Result<Object>>> decorators;
+    private final Function<Mono<Result<Object>>, Mono<Result<Object>>> idempotentDecorators;
+    private final Function<Mono<Result<Object>>, Mono<Result<Object>>> deadline;
+
+    // the decorators are assembled once, each call only wraps its own command
+    public CommandChain(EndpointConfiguration configuration, InstanceBalancer instanceBalancer,
+            BlockingCommandScheduler blockingCommandScheduler, EndpointCache endpointCache,
+            RequestCoalescer requestCoalescer, Function<Mono<Result<Object>>, Mono<Result<Object>>> decorators,
+            Function<Mono<Result<Object>>, Mono<Result<Object>>> idempotentDecorators,
+            Function<Mono<Result<Object>>, Mono<Result<Object>>> deadline)
+    {
+        this.configuration = configuration;
+        this.instanceBalancer = instanceBalancer;
+        this.blockingCommandScheduler = blockingCommandScheduler;
+        this.endpointCache = endpointCache;
+        this.cacheCommandExecutor = endpointCache == null ? null : new CacheCommandExecutor(endpointCache.getGuard());
+        this.requestCoalescer = requestCoalescer;
+        this.decorators = decorators;
+        this.idempotentDecorators = idempotentDecorators;
+        this.deadline = deadline;
+    }
+
+    public <T> Mono<Result<T>> execute(ICommand command, Deserializer<T> deserializer)
+    {
+        return complete(decorate(command, deserializer, false), deserializer);
+    }
+
+    public <T> Mono<Result<T>> executeCacheReadSkipped(ICommand command, Deserializer<T> deserializer)
+    {
+        return complete(decorate(command, deserializer, true), deserializer);
+    }
+
+    public <T> Mono<Result<T>> executePrefetched(String prefetchedCacheResponse, Deserializer<T> deserializer)
+    {
+        // a response already read by a batched cache lookup skips the decorators
+        return complete(Mono.just(Result.<T>ofRawResponse(prefetchedCacheResponse).markAsFromCache()), deserializer);
+    }
+
+    private <T> Mono<Result<T>> decorate(ICommand command, Deserializer<T> deserializer, boolean cacheReadSkipped)
+    {
+        Mono<Result<T>> mono = new CommandExecutor<>(command, deserializer, instanceBalancer, blockingCommandScheduler,
+                configuration.isCacheEnabled()).execute().defaultIfEmpty(Result.empty());
+
+        mono = apply(command.isIdempotent() ? idempotentDecorators : decorators, mono);
+
+        return apply(deadline, cacheAndCoalesce(command, deserializer, mono, cacheReadSkipped));
+    }
+
+    private <T> Mono<Result<T>> cacheAndCoalesce(ICommand command, Deserializer<T> deserializer, Mono<Result<T>> mono,
+            boolean cacheReadSkipped)
+    {
+        if (!configuration.isCacheEnabled() && requestCoalescer == null)
+        {
+            return mono;
+        }
+
+        // generated once per command, key generation may serialize the whole request
+        CacheKey cacheKey = command.generateCacheKey();
+        Mono<Result<T>> cachedMono = mono;
+
+        if (configuration.isCacheEnabled())
+        {
+            if (endpointCache == null)
+            {
+                throw new IllegalStateException("Cache is enabled but no endpoint cache is configured.");
+            }
+
+            cachedMono = mono.transform(
+                    new CacheDecorator<>(cacheKey, endpointCache, cacheCommandExecutor, cacheReadSkipped));
+        }
+
+        return requestCoalescer == null ? cachedMono : requestCoalescer.coalesce(cacheKey, deserializer, cachedMono);
+    }
+
+    private <T> Mono<Result<T>> complete(Mono<Result<T>> mono, Deserializer<T> deserializer)
+    {
+        Mono<Result<T>> completed = mono.map(result -> result.deserializeWith(deserializer))
+                                        .onErrorResume(throwable -> Mono.just(Result.ofError(throwable)));
+
+        if (!configuration.isLoggingEnabled())
+        {
+            return completed;
+        }
+
+        return completed.<Result<T>>transform(doWithContext(CommandChain::log));
+    }
+
+    // the decorators only look at the signals, never at the response type
+    @SuppressWarnings("unchecked")
+    private static <T> Mono<Result<T>> apply(Function<Mono<Result<Object>>, Mono<Result<Object>>> decorator,
+            Mono<Result<T>> mono)
+    {
+        return (Mono<Result<T>>) (Mono<?>) decorator.apply((Mono<Result<Object>>) (Mono<?>) mono);
+    }
+
+    private static void log(Result<?> result, Context context)
+    {
+        if (!context.hasKey(LogContext.class))
+        {
+            return;
+        }
+
+        LogContext logContext = context.get(LogContext.class);
+
+        logContext.add(result);
+
+        if (!result.isSuccess())
+        {
+            LOGGER.error(result.toString(), result.getThrowable());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.resilience.connector.command;
+
+import com.example.resilience.connector.loadbalancing.InstanceBalancer;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.serialization.Deserializer;
+import com.example.resilience.connector.serialization.StreamingDeserializer;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+public final class CommandExecutor<T>
+{
+    private final ICommand command;
+    private final Deserializer<T> deserializer;
+    private final InstanceBalancer instanceBalancer;
+    private final BlockingCommandScheduler blockingCommandScheduler;
+    private final boolean rawResponseCaptured;
+
+    public CommandExecutor(ICommand command, Deserializer<T> deserializer, InstanceBalancer instanceBalancer,
+            BlockingCommandScheduler blockingCommandScheduler, boolean rawResponseCaptured)
+    {
+        this.command = command;
+        this.deserializer = deserializer;
+        this.instanceBalancer = instanceBalancer;
+        this.blockingCommandScheduler = blockingCommandScheduler;
+        this.rawResponseCaptured = rawResponseCaptured;
+    }
+
+    public Mono<Result<T>> execute()
+    {
+        if (instanceBalancer == null || !(command instanceof IInstanceCommand))
+        {
+            return execute(command);
+        }
+
+        IInstanceCommand instanceCommand = (IInstanceCommand) command;
+
+        return instanceBalancer.execute(instance -> execute(instanceCommand.onInstance(instance)));
+    }
+
+    private Mono<Result<T>> execute(ICommand command)
+    {
+        if (command instanceof IStreamingCommand && deserializer instanceof StreamingDeserializer)
+        {
+            return executeStreaming((IStreamingCommand) command, (StreamingDeserializer<T>) deserializer);
+        }
+
+        if (command instanceof BlockingCommand && blockingCommandScheduler != null)
+        {
+            return ((BlockingCommand) command).execute(blockingCommandScheduler).map(Result::<T>ofRawResponse);
+        }
+
+        // byte payloads reach the deserializer without a string in between
+        if (command instanceof IByteCommand)
+        {
+            return ((IByteCommand) command).executeBytes().map(Result::<T>ofRawBytes);
+        }
+
+        return command.execute().map(Result::<T>ofRawResponse);
+    }
+
+    private Mono<Result<T>> executeStreaming(IStreamingCommand streamingCommand,
+            StreamingDeserializer<T> streamingDeserializer)
+    {
+        if (!rawResponseCaptured)
+        {
+            return streamingDeserializer.deserialize(streamingCommand.executeStreaming())
+                                        .map(response -> Result.ofDeserializedResponse(response, null));
+        }
+
+        // the raw body is only captured when it has to be written to the cache
+        return Mono.defer(() ->
+        {
+            ByteArrayOutputStream rawCapture = new ByteArrayOutputStream();
+
+            return streamingDeserializer.deserialize(streamingCommand.executeStreaming()
+                                                                     .doOnNext(buffer -> capture(buffer, rawCapture)))
+                                        .map(response -> Result.ofDeserializedResponse(response,
+                                                rawCapture.toByteArray()));
+        });
+    }
+
+    private static void capture(DataBuffer dataBuffer, ByteArrayOutputStream rawCapture)
+    {
+        // a view, the read position the deserializer relies on stays put
+        ByteBuffer readable = dataBuffer.asByteBuffer();
+        byte[] chunk = new byte[readable.remaining()];
+        readable.get(chunk);
+        rawCapture.write(chunk, 0, chunk.length);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.resilience.connector.command;
+
+import java.util.concurrent.TimeoutException;
+
+public class DeadlineExceededException extends TimeoutException
+{
+    public DeadlineExceededException(String message)
+    {
+        super(message);
+    }
+}
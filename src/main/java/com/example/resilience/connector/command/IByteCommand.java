@@ -0,0 +1,16 @@
+package com.example.resilience.connector.command;
+
+import reactor.core.publisher.Mono;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public interface IByteCommand extends ICommand
+{
+    Mono<byte[]> executeBytes();
+
+    @Override
+    default Mono<String> execute()
+    {
+        return executeBytes().map(bytes -> new String(bytes, UTF_8));
+    }
+}
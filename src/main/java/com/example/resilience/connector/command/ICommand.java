@@ -8,4 +8,9 @@ public interface ICommand
     Mono<String> execute();
 
     CacheKey generateCacheKey();
+
+    default boolean isIdempotent()
+    {
+        return false;
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.resilience.connector.command;
+
+public interface IInstanceCommand extends ICommand
+{
+    // the same command bound to one instance of a load balanced endpoint, e.g.
+    // "http://replica-2:8080"
+    ICommand onInstance(String instance);
+}
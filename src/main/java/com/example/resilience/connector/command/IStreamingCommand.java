@@ -0,0 +1,29 @@
+package com.example.resilience.connector.command;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public interface IStreamingCommand extends ICommand
+{
+    Flux<DataBuffer> executeStreaming();
+
+    @Override
+    default Mono<String> execute()
+    {
+        return DataBufferUtils.join(executeStreaming()).map(dataBuffer ->
+        {
+            try
+            {
+                return UTF_8.decode(dataBuffer.asByteBuffer()).toString();
+            }
+            finally
+            {
+                DataBufferUtils.release(dataBuffer);
+            }
+        });
+    }
+}
@@ -1,8 +1,17 @@
 package com.example.resilience.connector.command;
 
-import com.example.resilience.connector.command.decorator.CacheDecorator;
+import com.example.resilience.connector.cache.EndpointCache;
+import com.example.resilience.connector.command.decorator.AdaptiveConcurrencyDecorator;
+import com.example.resilience.connector.command.decorator.AdaptiveConcurrencyLimiter;
+import com.example.resilience.connector.command.decorator.DeadlineDecorator;
+import com.example.resilience.connector.command.decorator.HedgeDecorator;
+import com.example.resilience.connector.command.decorator.HedgePolicy;
+import com.example.resilience.connector.command.decorator.RequestCoalescer;
+import com.example.resilience.connector.command.decorator.RetryDecorator;
+import com.example.resilience.connector.command.decorator.TimeoutDecorator;
+import com.example.resilience.connector.command.decorator.TokenBudget;
 import com.example.resilience.connector.configuration.EndpointConfiguration;
-import com.example.resilience.connector.logging.LogContext;
+import com.example.resilience.connector.loadbalancing.InstanceBalancer;
 import com.example.resilience.connector.model.Result;
 import com.example.resilience.connector.serialization.Deserializer;
 import io.github.resilience4j.bulkhead.Bulkhead;
@@ -11,31 +20,29 @@ import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
-import reactor.util.context.Context;
-import reactor.util.function.Tuple2;
 
 import java.time.Duration;
-
-import static com.example.resilience.connector.util.MonoOperators.doWithContext;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class MonoCommandBuilder<T>
 {
-    private static final Logger LOGGER = LoggerFactory.getLogger(MonoCommandBuilder.class);
-
     private final ICommand command;
 
-    private int retries;
+    private EndpointConfiguration configuration;
+    private TokenBudget retryBudget;
+    private HedgePolicy hedgePolicy;
+    private InstanceBalancer instanceBalancer;
     private CircuitBreaker circuitBreaker;
-    private Bulkhead bulkhead;
     private RateLimiter rateLimiter;
-    private Duration timeout;
-    private int cachePort;
+    private Bulkhead bulkhead;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private EndpointCache endpointCache;
+    private RequestCoalescer requestCoalescer;
+    private BlockingCommandScheduler blockingCommandScheduler;
     private Deserializer<T> deserializer;
-    private boolean cacheEnabled;
-    private boolean loggingEnabled;
+    private Supplier<Duration> timeout;
 
     private MonoCommandBuilder(ICommand command)
     {
@@ -47,13 +54,32 @@ public final class MonoCommandBuilder<T>
         return new MonoCommandBuilder<>(command);
     }
 
+    public static <T> MonoCommandBuilder<T> aChainBuilder()
+    {
+        return new MonoCommandBuilder<>(null);
+    }
+
     public MonoCommandBuilder<T> withEndpointConfiguration(EndpointConfiguration configuration)
     {
-        this.retries = configuration.getRetries();
-        this.timeout = configuration.getTimeout();
-        this.cacheEnabled = configuration.isCacheEnabled();
-        this.cachePort = configuration.getCachePort();
-        this.loggingEnabled = configuration.isLoggingEnabled();
+        this.configuration = configuration;
+        return this;
+    }
+
+    public MonoCommandBuilder<T> withRetryBudget(TokenBudget retryBudget)
+    {
+        this.retryBudget = retryBudget;
+        return this;
+    }
+
+    public MonoCommandBuilder<T> withHedgePolicy(HedgePolicy hedgePolicy)
+    {
+        this.hedgePolicy = hedgePolicy;
+        return this;
+    }
+
+    public MonoCommandBuilder<T> withInstanceBalancer(InstanceBalancer instanceBalancer)
+    {
+        this.instanceBalancer = instanceBalancer;
         return this;
     }
 
@@ -75,6 +101,36 @@ public final class MonoCommandBuilder<T>
         return this;
     }
 
+    public MonoCommandBuilder<T> withConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter)
+    {
+        this.concurrencyLimiter = concurrencyLimiter;
+        return this;
+    }
+
+    public MonoCommandBuilder<T> withEndpointCache(EndpointCache endpointCache)
+    {
+        this.endpointCache = endpointCache;
+        return this;
+    }
+
+    public MonoCommandBuilder<T> withTimeout(Supplier<Duration> timeout)
+    {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public MonoCommandBuilder<T> withRequestCoalescer(RequestCoalescer requestCoalescer)
+    {
+        this.requestCoalescer = requestCoalescer;
+        return this;
+    }
+
+    public MonoCommandBuilder<T> withBlockingCommandScheduler(BlockingCommandScheduler blockingCommandScheduler)
+    {
+        this.blockingCommandScheduler = blockingCommandScheduler;
+        return this;
+    }
+
     public MonoCommandBuilder<T> withDeserializer(Deserializer<T> deserializer)
     {
         this.deserializer = deserializer;
@@ -83,73 +139,60 @@ public final class MonoCommandBuilder<T>
 
     public Mono<Result<T>> build()
     {
-        Mono<Result<T>> mono = command.execute()
-                                      .map(Result::<T>ofRawResponse)
-                                      .defaultIfEmpty(Result.empty())
-                                      .timeout(timeout)
-                                      .retry(retries);
+        return buildChain().execute(command, deserializer);
+    }
 
-        if (circuitBreaker != null)
-        {
-            mono = mono.transform(CircuitBreakerOperator.of(circuitBreaker));
-        }
+    public CommandChain buildChain()
+    {
+        Function<Mono<Result<Object>>, Mono<Result<Object>>> admission = admission();
 
-        if (rateLimiter != null)
-        {
-            mono = mono.transform(RateLimiterOperator.of(rateLimiter));
-        }
+        TimeoutDecorator<Result<Object>> timeoutDecorator = timeout == null
+                ? new TimeoutDecorator<>(configuration.getTimeout())
+                : new TimeoutDecorator<>(timeout);
 
-        if (bulkhead != null)
-        {
-            mono = mono.transform(BulkheadOperator.of(bulkhead));
-        }
+        Function<Mono<Result<Object>>, Mono<Result<Object>>> decorators = timeoutDecorator
+                .andThen(new RetryDecorator<>(configuration.getRetryConfiguration(), retryBudget));
 
-        if (cacheEnabled)
+        if (circuitBreaker != null)
         {
-            mono = mono.transform(new CacheDecorator<>(command.generateCacheKey(), cachePort));
+            CircuitBreakerOperator<Result<Object>> circuitBreakerOperator = CircuitBreakerOperator.of(circuitBreaker);
+            decorators = decorators.andThen(mono -> mono.transform(circuitBreakerOperator));
         }
 
-        return mono.map(this::deserialize)
-                   .onErrorResume(throwable -> Mono.just(Result.ofError(throwable)))
-                   .<Result<T>>transform(doWithContext(this::log))
-                   .elapsed()
-                   .doOnNext(this::logDuration)
-                   .map(Tuple2::getT2);
+        decorators = decorators.andThen(admission);
+
+        // only idempotent commands are hedged
+        Function<Mono<Result<Object>>, Mono<Result<Object>>> idempotentDecorators = hedgePolicy == null
+                ? decorators
+                : decorators.compose(new HedgeDecorator<>(hedgePolicy, admission));
+
+        return new CommandChain(configuration, instanceBalancer, blockingCommandScheduler, endpointCache,
+                requestCoalescer, decorators, idempotentDecorators,
+                new DeadlineDecorator<>(configuration.getTimeoutConfiguration().getDeadline()));
     }
 
-    private void log(Result<?> result, Context context)
+    private Function<Mono<Result<Object>>, Mono<Result<Object>>> admission()
     {
-        if (!loggingEnabled)
+        // hedges pass the same rate limit and concurrency limit as the primary calls
+        Function<Mono<Result<Object>>, Mono<Result<Object>>> admission = Function.identity();
+
+        if (rateLimiter != null)
         {
-            return;
+            RateLimiterOperator<Result<Object>> rateLimiterOperator = RateLimiterOperator.of(rateLimiter);
+            admission = mono -> mono.transform(rateLimiterOperator);
         }
 
-        if (!context.hasKey(LogContext.class))
+        if (concurrencyLimiter != null)
         {
-            return;
+            return admission.andThen(new AdaptiveConcurrencyDecorator<>(concurrencyLimiter));
         }
 
-        LogContext logContext = context.get(LogContext.class);
-
-        logContext.add(result);
-
-        if (!result.isSuccess())
+        if (bulkhead != null)
         {
-            LOGGER.error(result.toString(), result.getThrowable());
+            BulkheadOperator<Result<Object>> bulkheadOperator = BulkheadOperator.of(bulkhead);
+            return admission.andThen(mono -> mono.transform(bulkheadOperator));
         }
-    }
-
-    private Result<T> deserialize(Result<T> rawResult)
-    {
-        String rawResponse = rawResult.getRawResponse();
 
-        T deserialize = deserializer.deserialize(rawResponse);
-
-        return rawResult.addDeserializedResponse(deserialize);
-    }
-
-    private void logDuration(Tuple2<Long, ? extends Result<?>> objects)
-    {
-        LOGGER.info("Command duration: " + objects.getT1() + " milliseconds");
+        return admission;
     }
 }
@@ -0,0 +1,85 @@
+package com.example.resilience.connector.command.decorator;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+public class AdaptiveConcurrencyDecorator<T> implements Function<Mono<T>, Mono<T>>
+{
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdaptiveConcurrencyDecorator(AdaptiveConcurrencyLimiter limiter)
+    {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Mono<T> apply(Mono<T> mono)
+    {
+        return Mono.defer(() ->
+        {
+            if (!limiter.tryAcquire())
+            {
+                return Mono.error(new BulkheadFullException(
+                        "Adaptive concurrency limit '" + limiter.getName() + "' is full"));
+            }
+
+            Permit permit = new Permit(limiter);
+
+            return mono.doOnSuccess(result -> permit.onSuccess())
+                       .doOnError(permit::onError)
+                       .doOnCancel(permit::onCancel);
+        });
+    }
+
+    private static final class Permit
+    {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final int inFlightAtStart;
+        private final long start = System.nanoTime();
+        // a cancel can race with the result, the permit is released only once
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public Permit(AdaptiveConcurrencyLimiter limiter)
+        {
+            this.limiter = limiter;
+            this.inFlightAtStart = limiter.getInFlight();
+        }
+
+        public void onSuccess()
+        {
+            if (released.compareAndSet(false, true))
+            {
+                limiter.onSuccess(System.nanoTime() - start, inFlightAtStart);
+            }
+        }
+
+        public void onError(Throwable throwable)
+        {
+            if (!released.compareAndSet(false, true))
+            {
+                return;
+            }
+
+            if (throwable instanceof TimeoutException)
+            {
+                limiter.onDropped(System.nanoTime() - start, inFlightAtStart);
+            }
+            else
+            {
+                limiter.onIgnored();
+            }
+        }
+
+        public void onCancel()
+        {
+            if (released.compareAndSet(false, true))
+            {
+                limiter.onIgnored();
+            }
+        }
+    }
+}
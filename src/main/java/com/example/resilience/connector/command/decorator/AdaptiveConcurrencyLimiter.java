@@ -0,0 +1,152 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.configuration.AdaptiveConcurrencyConfiguration;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveConcurrencyLimiter
+{
+    private static final long WINDOW_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final Object lock = new Object();
+
+    private long windowStartNanos;
+    private long windowMinRttNanos;
+    private long previousWindowMinRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, AdaptiveConcurrencyConfiguration configuration)
+    {
+        this.name = name;
+        this.minLimit = configuration.getMinLimit();
+        this.maxLimit = configuration.getMaxLimit();
+        this.limit = new AtomicInteger(configuration.getInitialLimit());
+        this.windowStartNanos = System.nanoTime();
+    }
+
+    public boolean tryAcquire()
+    {
+        int current = inFlight.get();
+
+        while (current < limit.get())
+        {
+            if (inFlight.compareAndSet(current, current + 1))
+            {
+                return true;
+            }
+
+            current = inFlight.get();
+        }
+
+        return false;
+    }
+
+    public void onSuccess(long rttNanos, int inFlightAtStart)
+    {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart, false);
+    }
+
+    public void onDropped(long rttNanos, int inFlightAtStart)
+    {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart, true);
+    }
+
+    public void onIgnored()
+    {
+        inFlight.decrementAndGet();
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getLimit()
+    {
+        return limit.get();
+    }
+
+    public int getInFlight()
+    {
+        return inFlight.get();
+    }
+
+    private void update(long rttNanos, int inFlightAtStart, boolean dropped)
+    {
+        synchronized (lock)
+        {
+            observeRtt(rttNanos, dropped);
+
+            long rttNoLoadNanos = rttNoLoadNanos();
+
+            if (rttNoLoadNanos > 0)
+            {
+                int nextLimit = nextLimit(rttNanos, rttNoLoadNanos, inFlightAtStart, dropped);
+                limit.set(Math.max(minLimit, Math.min(maxLimit, nextLimit)));
+            }
+        }
+    }
+
+    private void observeRtt(long rttNanos, boolean dropped)
+    {
+        long now = System.nanoTime();
+
+        if (now - windowStartNanos >= WINDOW_NANOS)
+        {
+            previousWindowMinRttNanos = windowMinRttNanos;
+            windowMinRttNanos = 0;
+            windowStartNanos = now;
+        }
+
+        if (!dropped && (windowMinRttNanos == 0 || rttNanos < windowMinRttNanos))
+        {
+            windowMinRttNanos = rttNanos;
+        }
+    }
+
+    // the no-load rtt is the minimum over the current and the previous window, so
+    // it follows a lasting change of the service instead of keeping an old low
+    private long rttNoLoadNanos()
+    {
+        if (previousWindowMinRttNanos == 0 || windowMinRttNanos == 0)
+        {
+            return Math.max(previousWindowMinRttNanos, windowMinRttNanos);
+        }
+
+        return Math.min(previousWindowMinRttNanos, windowMinRttNanos);
+    }
+
+    // TCP Vegas: estimate the queue from the rtt above the no-load rtt
+    private int nextLimit(long rttNanos, long rttNoLoadNanos, int inFlightAtStart, boolean dropped)
+    {
+        int currentLimit = limit.get();
+        int step = Math.max(1, (int) Math.log10(currentLimit));
+
+        if (dropped)
+        {
+            return currentLimit - step;
+        }
+
+        if (inFlightAtStart * 2 < currentLimit)
+        {
+            // not enough load to say anything about the limit
+            return currentLimit;
+        }
+
+        int queueSize = (int) Math.ceil(currentLimit * (1 - (double) rttNoLoadNanos / rttNanos));
+
+        if (queueSize <= 3 * step)
+        {
+            return currentLimit + step;
+        }
+
+        return queueSize >= 6 * step ? currentLimit - step : currentLimit;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.cache.CacheGuard;
+import com.example.resilience.connector.command.CommandChain;
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.command.MonoCommandBuilder;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.serialization.Deserializer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.anEndpointConfiguration;
+
+public final class CacheCommandExecutor
+{
+    private static final EndpointConfiguration READ_CONFIGURATION = cacheConfiguration(Duration.ofMillis(2000));
+    private static final EndpointConfiguration WRITE_CONFIGURATION = cacheConfiguration(Duration.ofMillis(5000));
+
+    private final CacheGuard cacheGuard;
+    private final CommandChain readChain;
+    private final CommandChain writeChain;
+
+    public CacheCommandExecutor(CacheGuard cacheGuard)
+    {
+        this.cacheGuard = cacheGuard;
+        this.readChain = cacheChain(READ_CONFIGURATION, cacheGuard);
+        this.writeChain = cacheChain(WRITE_CONFIGURATION, cacheGuard);
+    }
+
+    public <R> Mono<Result<R>> read(ICommand command, Deserializer<R> deserializer)
+    {
+        return observe(readChain.execute(command, deserializer));
+    }
+
+    public <R> Mono<Result<R>> write(ICommand command, Deserializer<R> deserializer)
+    {
+        return observe(writeChain.execute(command, deserializer));
+    }
+
+    private <R> Mono<Result<R>> observe(Mono<Result<R>> mono)
+    {
+        return cacheGuard == null ? mono : cacheGuard.observe(mono);
+    }
+
+    private static CommandChain cacheChain(EndpointConfiguration configuration, CacheGuard cacheGuard)
+    {
+        MonoCommandBuilder<Object> builder = MonoCommandBuilder.aChainBuilder()
+                                                               .withEndpointConfiguration(configuration);
+
+        if (cacheGuard == null)
+        {
+            return builder.buildChain();
+        }
+
+        // a guarded cache gets a short adaptive timeout and is skipped altogether while
+        // its circuit is open
+        return builder.withTimeout(cacheGuard::timeout).withCircuitBreaker(cacheGuard.getCircuitBreaker()).buildChain();
+    }
+
+    private static EndpointConfiguration cacheConfiguration(Duration timeout)
+    {
+        return anEndpointConfiguration().withLoggingEnabled(false).withTimeout(timeout).build();
+    }
+}
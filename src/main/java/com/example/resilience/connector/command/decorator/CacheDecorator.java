@@ -1,85 +1,207 @@
 package com.example.resilience.connector.command.decorator;
 
-import com.example.resilience.connector.command.MonoCommandBuilder;
-import com.example.resilience.connector.command.redis.RedisGetCommand;
-import com.example.resilience.connector.command.redis.RedisSetCommand;
-import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.cache.BackgroundRefreshTracker;
+import com.example.resilience.connector.cache.CacheEntry;
+import com.example.resilience.connector.cache.CacheValueCodec;
+import com.example.resilience.connector.cache.CacheWriteBehindQueue;
+import com.example.resilience.connector.cache.EndpointCache;
+import com.example.resilience.connector.cache.NearCache;
+import com.example.resilience.connector.command.redis.RedisGetBytesCommand;
+import com.example.resilience.connector.command.redis.RedisSetBytesCommand;
+import com.example.resilience.connector.configuration.CacheTtlConfiguration;
 import com.example.resilience.connector.model.CacheKey;
 import com.example.resilience.connector.model.Result;
-import com.example.resilience.connector.template.RedisTemplateFactory;
+import com.example.resilience.connector.serialization.Deserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.util.function.Function;
 
-import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.anEndpointConfiguration;
 import static com.example.resilience.connector.serialization.Serializers.STRING_DESERIALIZER;
-import static java.util.function.Predicate.not;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class CacheDecorator<T> implements Function<Mono<Result<T>>, Mono<Result<T>>>
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(CacheDecorator.class);
 
     private final CacheKey cacheKey;
-    private final int cachePort;
-
-    public CacheDecorator(CacheKey cacheKey, int cachePort)
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+    private final CacheTtlConfiguration cacheTtlConfiguration;
+    private final NearCache nearCache;
+    private final BackgroundRefreshTracker backgroundRefreshTracker;
+    private final CacheWriteBehindQueue writeBehindQueue;
+    private final CacheValueCodec cacheValueCodec;
+    private final CacheCommandExecutor cacheCommandExecutor;
+    private final boolean readSkipped;
+
+    public CacheDecorator(CacheKey cacheKey, EndpointCache endpointCache, CacheCommandExecutor cacheCommandExecutor,
+            boolean readSkipped)
     {
         this.cacheKey = cacheKey;
-        this.cachePort = cachePort;
+        this.redisTemplate = endpointCache.getRedisTemplate();
+        this.cacheTtlConfiguration = endpointCache.getTtlConfiguration();
+        this.nearCache = endpointCache.getNearCache();
+        this.backgroundRefreshTracker = endpointCache.getRefreshTracker();
+        this.writeBehindQueue = endpointCache.getWriteBehindQueue();
+        this.cacheValueCodec = endpointCache.getValueCodec();
+        this.cacheCommandExecutor = cacheCommandExecutor;
+        this.readSkipped = readSkipped;
     }
 
     @Override
     public Mono<Result<T>> apply(Mono<Result<T>> originalMono)
     {
-        ReactiveRedisTemplate<String, String> redisTemplate = RedisTemplateFactory.create("localhost", cachePort);
+        // a skipped read means the caller already knows the key is missing from redis
+        // and only wants the write
+        Mono<Result<T>> cachedMono = readSkipped
+                ? originalMono.doOnNext(this::saveToCacheAsync)
+                : getFromCache(originalMono).switchIfEmpty(originalMono.doOnNext(this::saveToCacheAsync));
+
+        if (nearCache == null)
+        {
+            return cachedMono;
+        }
+
+        return Mono.defer(() -> getFromNearCache(cachedMono));
+    }
+
+    private Mono<Result<T>> getFromNearCache(Mono<Result<T>> cachedMono)
+    {
+        String rawResponse = nearCache.get(cacheKey);
+
+        if (rawResponse == null)
+        {
+            return cachedMono.doOnNext(this::saveToNearCache);
+        }
+
+        return Mono.just(Result.<T>ofRawResponse(rawResponse).markAsFromCache());
+    }
+
+    private Mono<Result<T>> serveByAge(Mono<Result<T>> originalMono, Result<T> cachedResult, CacheEntry entry)
+    {
+        if (!cacheTtlConfiguration.isSoftExpiryEnabled())
+        {
+            return Mono.just(cachedResult);
+        }
+
+        long ageMillis = entry.ageMillis(System.currentTimeMillis());
+        long softTimeToLiveMillis = cacheTtlConfiguration.getSoftTimeToLive().toMillis();
+
+        if (ageMillis < softTimeToLiveMillis)
+        {
+            return Mono.just(cachedResult);
+        }
+
+        Result<T> staleResult = cachedResult.markAsStale();
+
+        if (cacheTtlConfiguration.isStaleWhileRevalidateEnabled()
+                && ageMillis < softTimeToLiveMillis + cacheTtlConfiguration.getStaleWhileRevalidate().toMillis())
+        {
+            refreshInBackground(originalMono);
+            return Mono.just(staleResult);
+        }
+
+        return refreshStaleEntry(originalMono, staleResult);
+    }
+
+    private void refreshInBackground(Mono<Result<T>> originalMono)
+    {
+        // one refresh per key at a time, other stale hits are only served; it is
+        // detached, the deadline of the request that found the entry does not apply
+        if (backgroundRefreshTracker == null || !backgroundRefreshTracker.tryStart(cacheKey))
+        {
+            return;
+        }
 
-        return getFromCacheCommand(redisTemplate, cacheKey)
-                .filter(Result::isSuccess)
-                .filter(not(Result::isRawResponseNull))
-                .switchIfEmpty(originalMono.doOnNext(result -> saveToCacheAsync(redisTemplate, result)));
+        originalMono.doOnNext(this::saveToCacheAsync)
+                    .doFinally(signalType -> backgroundRefreshTracker.finish(cacheKey))
+                    .doOnError(throwable -> LOGGER.warn("Background refresh of cache key: {} failed: {}", cacheKey,
+                            throwable.toString()))
+                    .onErrorResume(throwable -> Mono.empty())
+                    .subscribe();
     }
 
-    private Mono<Result<T>> getFromCacheCommand(ReactiveRedisTemplate<String, String> redisTemplate,
-            CacheKey cacheKey)
+    private Mono<Result<T>> refreshStaleEntry(Mono<Result<T>> originalMono, Result<T> staleResult)
     {
-        LOGGER.info("Call cache with key: " + cacheKey);
+        Mono<Result<T>> refreshedMono = originalMono.doOnNext(this::saveToCacheAsync);
 
-        RedisGetCommand redisGetCommand = new RedisGetCommand(redisTemplate, cacheKey);
+        if (!cacheTtlConfiguration.isStaleIfErrorEnabled())
+        {
+            return refreshedMono;
+        }
 
-        EndpointConfiguration configuration = anEndpointConfiguration().withLoggingEnabled(false)
-                                                                       .withTimeout(Duration.ofMillis(2000))
-                                                                       .build();
+        return refreshedMono.onErrorResume(throwable ->
+        {
+            LOGGER.warn("Serve stale cache entry with key: {} because of: {}", cacheKey, throwable.toString());
+            return Mono.just(staleResult);
+        });
+    }
 
-        Mono<Result<String>> getFromCacheMono = MonoCommandBuilder.<String>aBuilder(redisGetCommand)
-                .withEndpointConfiguration(configuration).withDeserializer(STRING_DESERIALIZER).build();
+    private void saveToNearCache(Result<T> result)
+    {
+        if (result.isSuccess() && !result.isRawResponseNull() && !result.isStale())
+        {
+            nearCache.put(cacheKey, result.getRawResponse());
+        }
+    }
 
-        return getFromCacheMono
-                .map(Result::<T>markAsRawResponseFromCache)
-                .onErrorResume(ex -> Mono.just(Result.ofError(ex)));
+    private Mono<Result<T>> getFromCache(Mono<Result<T>> originalMono)
+    {
+        LOGGER.info("Call cache with key: {}", cacheKey);
+
+        RedisGetBytesCommand redisGetCommand = new RedisGetBytesCommand(redisTemplate, cacheKey);
+
+        // a value that can not be decoded fails the lookup and is treated like a miss
+        return cacheCommandExecutor.read(redisGetCommand, new CacheEntryDeserializer(cacheValueCodec))
+                .filter(cached -> cached.isSuccess() && cached.getResponse() != null)
+                .map(Result::getResponse)
+                .flatMap(entry -> serveByAge(originalMono,
+                        Result.<T>ofRawResponse(entry.getValue()).markAsFromCache(), entry));
     }
 
-    private void saveToCacheAsync(ReactiveRedisTemplate<String, String> redisTemplate, Result<T> result)
+    private void saveToCacheAsync(Result<T> result)
     {
         if (result.isFromCache() || result.isRawResponseNull())
         {
             return;
         }
 
-        RedisSetCommand redisSetStringCommand = new RedisSetCommand(redisTemplate, cacheKey.getValue(),
-                result.getRawResponse());
+        if (writeBehindQueue != null)
+        {
+            writeBehindQueue.enqueue(cacheKey, result.getRawResponse());
+            return;
+        }
 
-        EndpointConfiguration configuration = anEndpointConfiguration().withLoggingEnabled(false)
-                                                                       .withTimeout(Duration.ofMillis(5000))
-                                                                       .build();
+        RedisSetBytesCommand redisSetCommand = new RedisSetBytesCommand(redisTemplate, cacheKey.getValue(),
+                cacheValueCodec.encode(result.getRawResponse()), cacheTtlConfiguration.getHardTimeToLive());
 
-        Mono<Result<String>> setInCacheMono = MonoCommandBuilder.<String>aBuilder(redisSetStringCommand)
-                .withEndpointConfiguration(configuration).withDeserializer(STRING_DESERIALIZER).build();
+        Mono<Result<String>> setInCacheMono = cacheCommandExecutor.write(redisSetCommand, STRING_DESERIALIZER);
 
         // trigger async
         setInCacheMono.subscribe();
     }
+
+    private static final class CacheEntryDeserializer implements Deserializer<CacheEntry>
+    {
+        private final CacheValueCodec cacheValueCodec;
+
+        public CacheEntryDeserializer(CacheValueCodec cacheValueCodec)
+        {
+            this.cacheValueCodec = cacheValueCodec;
+        }
+
+        @Override
+        public CacheEntry deserialize(String raw)
+        {
+            return raw == null ? null : deserialize(raw.getBytes(UTF_8));
+        }
+
+        @Override
+        public CacheEntry deserialize(byte[] raw)
+        {
+            return cacheValueCodec.decodeEntry(raw);
+        }
+    }
 }
@@ -0,0 +1,368 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.configuration.CircuitBreakerWindowConfiguration;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+public final class CircuitBreakerWindow implements CircuitBreaker
+{
+    private static final int BUCKET_COUNT = 10;
+
+    private final CircuitBreaker circuitBreaker;
+    private final CircuitBreakerWindowConfiguration configuration;
+    private final long bucketNanos;
+    private final long slowCallNanos;
+    private final Bucket[] buckets = new Bucket[BUCKET_COUNT];
+    private final Object lock = new Object();
+
+    public CircuitBreakerWindow(CircuitBreaker circuitBreaker, CircuitBreakerWindowConfiguration configuration)
+    {
+        this.circuitBreaker = circuitBreaker;
+        this.configuration = configuration;
+        this.bucketNanos = Math.max(1, configuration.getSlidingWindow().toNanos() / BUCKET_COUNT);
+        this.slowCallNanos = configuration.getSlowCallDurationThreshold() == null
+                ? Long.MAX_VALUE
+                : configuration.getSlowCallDurationThreshold().toNanos();
+
+        long epoch = epoch(System.nanoTime());
+
+        Arrays.setAll(buckets, index -> new Bucket(epoch));
+    }
+
+    public static CircuitBreakerWindow create(String name, int halfOpenBufferSize,
+            CircuitBreakerWindowConfiguration configuration,
+            BiFunction<String, CircuitBreakerConfig, CircuitBreaker> circuitBreakers)
+    {
+        // the registered breaker keeps the state across rebuilds, the window
+        // only decides when a closed circuit opens
+        CircuitBreaker circuitBreaker = circuitBreakers.apply(name,
+                CircuitBreakerConfig.custom()
+                                    .ringBufferSizeInClosedState(Math.max(1, halfOpenBufferSize))
+                                    .ringBufferSizeInHalfOpenState(Math.max(1, halfOpenBufferSize))
+                                    .build());
+
+        return new CircuitBreakerWindow(circuitBreaker, configuration);
+    }
+
+    @Override
+    public boolean isCallPermitted()
+    {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    @Override
+    public void onError(long durationInNanos, Throwable throwable)
+    {
+        // while closed the calls are judged here and never reach the ring
+        // buffer, resilience4j only judges the half open probes
+        if (circuitBreaker.getState() == State.CLOSED)
+        {
+            record(durationInNanos, true);
+        }
+        else
+        {
+            circuitBreaker.onError(durationInNanos, throwable);
+        }
+    }
+
+    @Override
+    public void onSuccess(long durationInNanos)
+    {
+        State state = circuitBreaker.getState();
+
+        if (state == State.CLOSED)
+        {
+            record(durationInNanos, false);
+        }
+        else if (state == State.HALF_OPEN && durationInNanos >= slowCallNanos)
+        {
+            // a slow probe speaks against closing the circuit like a failed one
+            circuitBreaker.onError(durationInNanos, new SlowCallException(durationInNanos));
+        }
+        else
+        {
+            circuitBreaker.onSuccess(durationInNanos);
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        circuitBreaker.reset();
+    }
+
+    @Override
+    public void transitionToClosedState()
+    {
+        circuitBreaker.transitionToClosedState();
+    }
+
+    @Override
+    public void transitionToOpenState()
+    {
+        circuitBreaker.transitionToOpenState();
+    }
+
+    @Override
+    public void transitionToHalfOpenState()
+    {
+        circuitBreaker.transitionToHalfOpenState();
+    }
+
+    @Override
+    public void transitionToDisabledState()
+    {
+        circuitBreaker.transitionToDisabledState();
+    }
+
+    @Override
+    public void transitionToForcedOpenState()
+    {
+        circuitBreaker.transitionToForcedOpenState();
+    }
+
+    @Override
+    public String getName()
+    {
+        return circuitBreaker.getName();
+    }
+
+    @Override
+    public State getState()
+    {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public CircuitBreakerConfig getCircuitBreakerConfig()
+    {
+        return circuitBreaker.getCircuitBreakerConfig();
+    }
+
+    @Override
+    public Metrics getMetrics()
+    {
+        Metrics metrics = circuitBreaker.getMetrics();
+
+        if (circuitBreaker.getState() != State.CLOSED)
+        {
+            return metrics;
+        }
+
+        // while closed the calls are counted in the window, the ring buffer of
+        // the registered breaker stays empty
+        Bucket window;
+
+        synchronized (lock)
+        {
+            window = window(epoch(System.nanoTime()));
+        }
+
+        return new WindowMetrics(window.getCalls(), window.getFailures(), configuration.getMinimumNumberOfCalls(),
+                metrics.getNumberOfNotPermittedCalls());
+    }
+
+    @Override
+    public EventPublisher getEventPublisher()
+    {
+        return circuitBreaker.getEventPublisher();
+    }
+
+    private void record(long nanos, boolean failed)
+    {
+        boolean open;
+
+        synchronized (lock)
+        {
+            open = shouldOpen(nanos, failed);
+        }
+
+        if (open)
+        {
+            circuitBreaker.transitionToOpenState();
+        }
+    }
+
+    private boolean shouldOpen(long nanos, boolean failed)
+    {
+        long epoch = epoch(System.nanoTime());
+        Bucket current = buckets[(int) Math.floorMod(epoch, (long) BUCKET_COUNT)];
+
+        current.record(epoch, failed, nanos >= slowCallNanos);
+
+        Bucket window = window(epoch);
+
+        // a quiet window is not judged at all, so a handful of errors at night
+        // can not open the circuit
+        if (window.getCalls() < configuration.getMinimumNumberOfCalls())
+        {
+            return false;
+        }
+
+        boolean open = window.getFailureRate() >= configuration.getFailureRateThreshold()
+                || window.getSlowCallRate() >= configuration.getSlowCallRateThreshold();
+
+        if (open)
+        {
+            // the next closed period starts from an empty window
+            for (Bucket bucket : buckets)
+            {
+                bucket.clear();
+            }
+        }
+
+        return open;
+    }
+
+    private Bucket window(long epoch)
+    {
+        Bucket window = new Bucket(epoch);
+
+        for (Bucket bucket : buckets)
+        {
+            // a bucket last written more than a window ago holds calls that
+            // already slid out
+            if (epoch - bucket.getEpoch() < BUCKET_COUNT)
+            {
+                window.add(bucket);
+            }
+        }
+
+        return window;
+    }
+
+    private long epoch(long nanoTime)
+    {
+        return nanoTime / bucketNanos;
+    }
+
+    private static final class Bucket
+    {
+        private long epoch;
+        private int calls;
+        private int failures;
+        private int slowCalls;
+
+        public Bucket(long epoch)
+        {
+            this.epoch = epoch;
+        }
+
+        public void record(long currentEpoch, boolean failed, boolean slow)
+        {
+            if (epoch != currentEpoch)
+            {
+                epoch = currentEpoch;
+                clear();
+            }
+
+            calls++;
+            failures += failed ? 1 : 0;
+            slowCalls += slow ? 1 : 0;
+        }
+
+        public void add(Bucket other)
+        {
+            calls += other.calls;
+            failures += other.failures;
+            slowCalls += other.slowCalls;
+        }
+
+        public void clear()
+        {
+            calls = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+
+        public long getEpoch()
+        {
+            return epoch;
+        }
+
+        public int getCalls()
+        {
+            return calls;
+        }
+
+        public int getFailures()
+        {
+            return failures;
+        }
+
+        public float getFailureRate()
+        {
+            return failures * 100f / calls;
+        }
+
+        public float getSlowCallRate()
+        {
+            return slowCalls * 100f / calls;
+        }
+    }
+
+    private static final class WindowMetrics implements Metrics
+    {
+        private final int calls;
+        private final int failures;
+        private final int minimumNumberOfCalls;
+        private final long notPermittedCalls;
+
+        public WindowMetrics(int calls, int failures, int minimumNumberOfCalls, long notPermittedCalls)
+        {
+            this.calls = calls;
+            this.failures = failures;
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            this.notPermittedCalls = notPermittedCalls;
+        }
+
+        @Override
+        public float getFailureRate()
+        {
+            // -1 like resilience4j until the window holds enough calls to judge
+            return calls < minimumNumberOfCalls ? -1 : failures * 100f / calls;
+        }
+
+        @Override
+        public int getNumberOfBufferedCalls()
+        {
+            return calls;
+        }
+
+        @Override
+        public int getNumberOfFailedCalls()
+        {
+            return failures;
+        }
+
+        @Override
+        public long getNumberOfNotPermittedCalls()
+        {
+            return notPermittedCalls;
+        }
+
+        @Override
+        public int getMaxNumberOfBufferedCalls()
+        {
+            // the window is bounded by time, not by a number of calls
+            return calls;
+        }
+
+        @Override
+        public int getNumberOfSuccessfulCalls()
+        {
+            return calls - failures;
+        }
+    }
+
+    private static final class SlowCallException extends RuntimeException
+    {
+        public SlowCallException(long durationInNanos)
+        {
+            super("Call took " + durationInNanos / 1_000_000 + " ms, longer than the slow call threshold.");
+        }
+    }
+}
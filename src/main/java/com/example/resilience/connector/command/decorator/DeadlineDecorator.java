@@ -0,0 +1,52 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.command.DeadlineExceededException;
+import com.example.resilience.connector.model.Deadline;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+public class DeadlineDecorator<T> implements Function<Mono<T>, Mono<T>>
+{
+    private final Duration deadline;
+
+    public DeadlineDecorator(Duration deadline)
+    {
+        this.deadline = deadline;
+    }
+
+    @Override
+    public Mono<T> apply(Mono<T> mono)
+    {
+        return Mono.subscriberContext().flatMap(context ->
+        {
+            Deadline effectiveDeadline = effectiveDeadline(Deadline.from(context));
+
+            if (effectiveDeadline == null)
+            {
+                return mono;
+            }
+
+            // an expired budget fails before the command waits for a permit or the cache
+            if (effectiveDeadline.isExpired())
+            {
+                return Mono.error(new DeadlineExceededException("Deadline exceeded before the command started."));
+            }
+
+            return mono.timeout(effectiveDeadline.remaining(),
+                    Mono.defer(() -> Mono.error(new DeadlineExceededException("Deadline exceeded."))))
+                       .subscriberContext(effectiveDeadline::putInto);
+        });
+    }
+
+    private Deadline effectiveDeadline(Deadline callerDeadline)
+    {
+        if (deadline == null)
+        {
+            return callerDeadline;
+        }
+
+        return Deadline.after(deadline).earliest(callerDeadline);
+    }
+}
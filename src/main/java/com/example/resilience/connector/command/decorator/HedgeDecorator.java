@@ -0,0 +1,63 @@
+package com.example.resilience.connector.command.decorator;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class HedgeDecorator<T> implements Function<Mono<T>, Mono<T>>
+{
+    private final HedgePolicy hedgePolicy;
+    private final Function<Mono<T>, Mono<T>> hedgeGuard;
+
+    public HedgeDecorator(HedgePolicy hedgePolicy, Function<Mono<T>, Mono<T>> hedgeGuard)
+    {
+        this.hedgePolicy = hedgePolicy;
+        this.hedgeGuard = hedgeGuard;
+    }
+
+    @Override
+    public Mono<T> apply(Mono<T> attempt)
+    {
+        Mono<T> timedAttempt = timed(attempt);
+
+        return Mono.defer(() ->
+        {
+            hedgePolicy.recordRequest();
+
+            Duration hedgeDelay = hedgePolicy.hedgeDelay();
+
+            if (hedgeDelay == null)
+            {
+                return timedAttempt;
+            }
+
+            // the first value wins, an error only once no other attempt is left
+            AtomicInteger pendingAttempts = new AtomicInteger(1);
+            Mono<T> hedge = Mono.delay(hedgeDelay)
+                                .filter(tick -> hedgePolicy.tryAcquireHedge())
+                                .doOnNext(tick -> pendingAttempts.incrementAndGet())
+                                .flatMap(tick -> lastErrorOnly(timedAttempt.transform(hedgeGuard), pendingAttempts))
+                                .switchIfEmpty(Mono.never());
+
+            return Mono.first(lastErrorOnly(timedAttempt, pendingAttempts), hedge);
+        });
+    }
+
+    private static <T> Mono<T> lastErrorOnly(Mono<T> attempt, AtomicInteger pendingAttempts)
+    {
+        return attempt.onErrorResume(throwable -> pendingAttempts.decrementAndGet() == 0
+                ? Mono.error(throwable)
+                : Mono.never());
+    }
+
+    private Mono<T> timed(Mono<T> attempt)
+    {
+        return Mono.defer(() ->
+        {
+            long start = System.nanoTime();
+            return attempt.doOnSuccess(result -> hedgePolicy.recordLatency(System.nanoTime() - start));
+        });
+    }
+}
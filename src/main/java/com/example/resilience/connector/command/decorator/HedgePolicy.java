@@ -0,0 +1,65 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.configuration.HedgingConfiguration;
+import com.example.resilience.connector.metrics.RollingLatencyWindow;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HedgePolicy
+{
+    private final HedgingConfiguration configuration;
+    private final TokenBudget hedgeBudget;
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private final RollingLatencyWindow latencyWindow;
+
+    public HedgePolicy(HedgingConfiguration configuration)
+    {
+        this.configuration = configuration;
+        this.hedgeBudget = new TokenBudget(configuration.getHedgeRatio(), configuration.getMaxHedgeBalance());
+        this.latencyWindow = new RollingLatencyWindow(configuration.getHedgeDelayPercentile());
+    }
+
+    public void recordRequest()
+    {
+        hedgeBudget.recordRequest();
+    }
+
+    public void recordLatency(long nanos)
+    {
+        latencyWindow.record(nanos);
+    }
+
+    public Duration hedgeDelay()
+    {
+        if (configuration.getHedgeDelay() != null)
+        {
+            return configuration.getHedgeDelay();
+        }
+
+        long delayNanos = latencyWindow.getObservedNanos();
+
+        return delayNanos == RollingLatencyWindow.NOT_OBSERVED ? null : Duration.ofNanos(delayNanos);
+    }
+
+    public boolean tryAcquireHedge()
+    {
+        if (!hedgeBudget.tryAcquire())
+        {
+            return false;
+        }
+
+        hedgeCount.incrementAndGet();
+        return true;
+    }
+
+    public long getHedgeCount()
+    {
+        return hedgeCount.get();
+    }
+
+    public long getRejectedHedgeCount()
+    {
+        return hedgeBudget.getRejectedCount();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.model.CacheKey;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.serialization.Deserializer;
+import lombok.EqualsAndHashCode;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.util.context.Context;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestCoalescer
+{
+    private final ConcurrentMap<InFlightKey, InFlightExecution<?>> inFlightExecutions = new ConcurrentHashMap<>();
+
+    public <T> Mono<Result<T>> coalesce(CacheKey cacheKey, Deserializer<T> deserializer, Mono<Result<T>> source)
+    {
+        // streamed results come deserialized, callers share them per deserializer
+        InFlightKey inFlightKey = new InFlightKey(cacheKey, deserializer);
+
+        return Mono.defer(() -> join(inFlightKey, source));
+    }
+
+    public int getInFlightCount()
+    {
+        return inFlightExecutions.size();
+    }
+
+    private <T> Mono<Result<T>> join(InFlightKey inFlightKey, Mono<Result<T>> source)
+    {
+        while (true)
+        {
+            InFlightExecution<T> inFlightExecution = inFlightExecution(inFlightKey, source);
+
+            if (inFlightExecution.join())
+            {
+                return inFlightExecution.getSharedMono();
+            }
+
+            // the last caller of this execution just left, a new one is started
+            inFlightExecutions.remove(inFlightKey, inFlightExecution);
+        }
+    }
+
+    // the key holds the deserializer, so the execution produces results of T
+    @SuppressWarnings("unchecked")
+    private <T> InFlightExecution<T> inFlightExecution(InFlightKey inFlightKey, Mono<Result<T>> source)
+    {
+        return (InFlightExecution<T>) inFlightExecutions.computeIfAbsent(inFlightKey,
+                key -> new InFlightExecution<>(key, source, inFlightExecutions));
+    }
+
+    @EqualsAndHashCode
+    private static final class InFlightKey
+    {
+        private final CacheKey cacheKey;
+        private final Deserializer<?> deserializer;
+
+        public InFlightKey(CacheKey cacheKey, Deserializer<?> deserializer)
+        {
+            this.cacheKey = cacheKey;
+            this.deserializer = deserializer;
+        }
+    }
+
+    private static final class InFlightExecution<T>
+    {
+        private final InFlightKey inFlightKey;
+        private final ConcurrentMap<InFlightKey, InFlightExecution<?>> inFlightExecutions;
+        private final MonoProcessor<Boolean> cancellation = MonoProcessor.create();
+        private final Mono<Result<T>> sharedMono;
+        // negative once the last caller cancelled, nobody can join after that
+        private final AtomicInteger callers = new AtomicInteger();
+
+        public InFlightExecution(InFlightKey inFlightKey, Mono<Result<T>> source,
+                ConcurrentMap<InFlightKey, InFlightExecution<?>> inFlightExecutions)
+        {
+            this.inFlightKey = inFlightKey;
+            this.inFlightExecutions = inFlightExecutions;
+
+            // runs without the first caller's context, each caller applies its own
+            // deadline downstream; the entry is removed before the signal reaches
+            // the callers and cache() replays it, so a caller joining at that
+            // moment still gets the result
+            this.sharedMono = source.subscriberContext(context -> Context.empty())
+                                    .takeUntilOther(cancellation)
+                                    .doOnEach(signal -> inFlightExecutions.remove(inFlightKey, this))
+                                    .cache();
+        }
+
+        public boolean join()
+        {
+            int current = callers.get();
+
+            while (current >= 0)
+            {
+                if (callers.compareAndSet(current, current + 1))
+                {
+                    return true;
+                }
+
+                current = callers.get();
+            }
+
+            return false;
+        }
+
+        public Mono<Result<T>> getSharedMono()
+        {
+            // a single cancel is not shared, the execution is cancelled once
+            // the last caller is gone
+            return sharedMono.doOnCancel(this::leave);
+        }
+
+        private void leave()
+        {
+            if (callers.decrementAndGet() == 0 && callers.compareAndSet(0, -1))
+            {
+                inFlightExecutions.remove(inFlightKey, this);
+                cancellation.onNext(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.configuration.BackoffConfiguration;
+import com.example.resilience.connector.configuration.RetryConfiguration;
+import com.example.resilience.connector.model.Deadline;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+public class RetryDecorator<T> implements Function<Mono<T>, Mono<T>>
+{
+    private final int retries;
+    private final BackoffConfiguration backoffConfiguration;
+    private final TokenBudget retryBudget;
+
+    public RetryDecorator(RetryConfiguration configuration, TokenBudget retryBudget)
+    {
+        this.retries = configuration.getRetries();
+        this.backoffConfiguration = configuration.getBackoffConfiguration();
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public Mono<T> apply(Mono<T> mono)
+    {
+        if (retries <= 0)
+        {
+            return mono;
+        }
+
+        Mono<T> retryingMono = Mono.subscriberContext()
+                                   .map(context -> new Backoff(retries, backoffConfiguration, retryBudget,
+                                           Deadline.from(context)))
+                                   .flatMap(backoff -> mono.retryWhen(backoff::retrySignals));
+
+        if (retryBudget == null)
+        {
+            return retryingMono;
+        }
+
+        return Mono.defer(() ->
+        {
+            retryBudget.recordRequest();
+            return retryingMono;
+        });
+    }
+
+    private static final class Backoff
+    {
+        private final int retries;
+        private final BackoffConfiguration backoffConfiguration;
+        private final TokenBudget retryBudget;
+        private final Deadline deadline;
+
+        private Duration previousDelay;
+
+        public Backoff(int retries, BackoffConfiguration backoffConfiguration, TokenBudget retryBudget,
+                Deadline deadline)
+        {
+            this.retries = retries;
+            this.backoffConfiguration = backoffConfiguration;
+            this.retryBudget = retryBudget;
+            this.deadline = deadline;
+            this.previousDelay = backoffConfiguration.getBaseDelay();
+        }
+
+        public Flux<Long> retrySignals(Flux<Throwable> errors)
+        {
+            return errors.index().concatMap(this::retrySignal);
+        }
+
+        private Mono<Long> retrySignal(Tuple2<Long, Throwable> indexedError)
+        {
+            if (indexedError.getT1() >= retries || retryBudget != null && !retryBudget.tryAcquire())
+            {
+                return Mono.error(indexedError.getT2());
+            }
+
+            Duration delay = nextDelay(indexedError.getT1());
+
+            // a retry that would only start after the deadline can not succeed, the last
+            // error is returned instead
+            if (deadline != null && deadline.remaining().compareTo(delay) <= 0)
+            {
+                return Mono.error(indexedError.getT2());
+            }
+
+            if (delay.isZero())
+            {
+                return Mono.just(indexedError.getT1());
+            }
+
+            return Mono.delay(delay);
+        }
+
+        private Duration nextDelay(long retryIndex)
+        {
+            Duration baseDelay = backoffConfiguration.getBaseDelay();
+            Duration maxDelay = backoffConfiguration.getMaxDelay();
+
+            switch (backoffConfiguration.getBackoffStrategy())
+            {
+                case FIXED:
+                    return baseDelay;
+                case EXPONENTIAL:
+                    // full jitter over the capped exponential delay
+                    return randomMillisBetween(0, exponentialMillis(baseDelay.toMillis(), maxDelay.toMillis(),
+                            (int) Math.min(retryIndex, 30)));
+                case DECORRELATED_JITTER:
+                    long upperMillis = Math.min(maxDelay.toMillis(), previousDelay.toMillis() * 3);
+                    previousDelay = randomMillisBetween(baseDelay.toMillis(), upperMillis);
+                    return previousDelay;
+                default:
+                    return Duration.ZERO;
+            }
+        }
+
+        private long exponentialMillis(long baseMillis, long maxMillis, int shift)
+        {
+            // compared before the shift, a large base delay would overflow it
+            return baseMillis > maxMillis >> shift ? maxMillis : baseMillis << shift;
+        }
+
+        private Duration randomMillisBetween(long lowerMillis, long upperMillis)
+        {
+            if (upperMillis <= lowerMillis)
+            {
+                return Duration.ofMillis(lowerMillis);
+            }
+
+            return Duration.ofMillis(ThreadLocalRandom.current().nextLong(lowerMillis, upperMillis + 1));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.resilience.connector.command.decorator;
+
+import com.example.resilience.connector.command.DeadlineExceededException;
+import com.example.resilience.connector.model.Deadline;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class TimeoutDecorator<T> implements Function<Mono<T>, Mono<T>>
+{
+    private final Supplier<Duration> timeout;
+
+    public TimeoutDecorator(Duration timeout)
+    {
+        this(() -> timeout);
+    }
+
+    public TimeoutDecorator(Supplier<Duration> timeout)
+    {
+        // read per attempt, so an adaptive timeout applies without rebuilding the chain
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Mono<T> apply(Mono<T> attempt)
+    {
+        // every attempt gets the timeout, but never more than is left of the deadline
+        return Mono.subscriberContext().flatMap(context ->
+        {
+            Deadline contextDeadline = Deadline.from(context);
+
+            if (contextDeadline == null)
+            {
+                return attempt.timeout(timeout.get());
+            }
+
+            if (contextDeadline.isExpired())
+            {
+                return Mono.error(new DeadlineExceededException("Deadline exceeded before the attempt started."));
+            }
+
+            return attempt.timeout(contextDeadline.limit(timeout.get()));
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.resilience.connector.command.decorator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBudget
+{
+    private static final long TOKEN = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public TokenBudget(double ratio, int maxBalance)
+    {
+        this.depositPerRequest = Math.round(ratio * TOKEN);
+        this.maxBalance = maxBalance * TOKEN;
+        this.balance = new AtomicLong(this.maxBalance);
+    }
+
+    public void recordRequest()
+    {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    public boolean tryAcquire()
+    {
+        long current = balance.get();
+
+        while (current >= TOKEN)
+        {
+            if (balance.compareAndSet(current, current - TOKEN))
+            {
+                return true;
+            }
+
+            current = balance.get();
+        }
+
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    public long getAvailableTokens()
+    {
+        return balance.get() / TOKEN;
+    }
+
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.resilience.connector.command.http;
 
+import com.example.resilience.connector.command.IByteCommand;
 import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.command.IInstanceCommand;
+import com.example.resilience.connector.command.IStreamingCommand;
 import com.example.resilience.connector.model.CacheKey;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public class HttpCommand implements ICommand
+import java.nio.charset.Charset;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class HttpCommand implements IByteCommand, IStreamingCommand, IInstanceCommand
 {
     private final WebClient webClient;
     private final String uri;
@@ -21,11 +31,27 @@ public class HttpCommand implements ICommand
     @Override
     public Mono<String> execute()
     {
-        return webClient.method(HttpMethod.GET)
-                        .uri(uri)
-                        .exchange()
-                        .flatMap(this::verify)
-                        .flatMap(o -> o.bodyToMono(String.class));
+        return IByteCommand.super.execute();
+    }
+
+    @Override
+    public Mono<byte[]> executeBytes()
+    {
+        return exchange().flatMap(o -> o.bodyToMono(byte[].class).map(body -> toUtf8(body, charset(o))));
+    }
+
+    @Override
+    public Flux<DataBuffer> executeStreaming()
+    {
+        return exchange().flatMapMany(o -> o.bodyToFlux(DataBuffer.class));
+    }
+
+    @Override
+    public ICommand onInstance(String instance)
+    {
+        // on a load balanced endpoint the uri is the path, so
+        // all instances share one cache key
+        return new HttpCommand(webClient, instance + uri);
     }
 
     @Override
@@ -34,11 +60,39 @@ public class HttpCommand implements ICommand
         return CacheKey.valueOf(uri);
     }
 
+    @Override
+    public boolean isIdempotent()
+    {
+        return true;
+    }
+
+    private Mono<ClientResponse> exchange()
+    {
+        return webClient.method(HttpMethod.GET)
+                        .uri(uri)
+                        .exchange()
+                        .flatMap(this::verify);
+    }
+
+    private static Charset charset(ClientResponse httpResponse)
+    {
+        return httpResponse.headers().contentType().map(MediaType::getCharset).orElse(UTF_8);
+    }
+
+    private static byte[] toUtf8(byte[] body, Charset charset)
+    {
+        // byte responses are UTF-8 downstream, any other declared charset is
+        // transcoded once here
+        return UTF_8.equals(charset) ? body : new String(body, charset).getBytes(UTF_8);
+    }
+
     private Mono<ClientResponse> verify(ClientResponse httpResponse)
     {
         if (httpResponse.statusCode().isError())
         {
-            return Mono.error(new HttpCommandException("Http command failed with status code: " + httpResponse.statusCode()));
+            // the error body is drained first, an unread body keeps its pooled connection
+            return httpResponse.bodyToMono(Void.class).then(Mono.error(
+                    new HttpCommandException("Http command failed with status code: " + httpResponse.statusCode())));
         }
 
         return Mono.just(httpResponse);
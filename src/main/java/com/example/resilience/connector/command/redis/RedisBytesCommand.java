@@ -0,0 +1,30 @@
+package com.example.resilience.connector.command.redis;
+
+import com.example.resilience.connector.command.IByteCommand;
+import com.example.resilience.connector.model.CacheKey;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+public abstract class RedisBytesCommand implements IByteCommand
+{
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+
+    public RedisBytesCommand(ReactiveRedisTemplate<String, byte[]> redisTemplate)
+    {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<byte[]> executeBytes()
+    {
+        return executeBytes(redisTemplate);
+    }
+
+    @Override
+    public CacheKey generateCacheKey()
+    {
+        throw new IllegalStateException("Cache command can not be cached.");
+    }
+
+    protected abstract Mono<byte[]> executeBytes(ReactiveRedisTemplate<String, byte[]> redisTemplate);
+}
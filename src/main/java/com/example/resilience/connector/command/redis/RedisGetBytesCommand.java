@@ -0,0 +1,29 @@
+package com.example.resilience.connector.command.redis;
+
+import com.example.resilience.connector.model.CacheKey;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+public class RedisGetBytesCommand extends RedisBytesCommand
+{
+    private final CacheKey cacheKey;
+
+    public RedisGetBytesCommand(ReactiveRedisTemplate<String, byte[]> redisTemplate, CacheKey cacheKey)
+    {
+        super(redisTemplate);
+
+        this.cacheKey = cacheKey;
+    }
+
+    @Override
+    protected Mono<byte[]> executeBytes(ReactiveRedisTemplate<String, byte[]> redisTemplate)
+    {
+        return redisTemplate.opsForValue().get(cacheKey.getValue());
+    }
+
+    @Override
+    public boolean isIdempotent()
+    {
+        return true;
+    }
+}
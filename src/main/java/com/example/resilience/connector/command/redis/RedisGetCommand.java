@@ -21,6 +21,12 @@ public class RedisGetCommand extends RedisCommand
         return redisTemplate.opsForValue().get(cacheKey.getValue());
     }
 
+    @Override
+    public boolean isIdempotent()
+    {
+        return true;
+    }
+
     @Override
     public CacheKey generateCacheKey()
     {
@@ -0,0 +1,35 @@
+package com.example.resilience.connector.command.redis;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class RedisSetBytesCommand extends RedisBytesCommand
+{
+    private final String cacheKey;
+    private final byte[] cacheValue;
+    private final Duration timeToLive;
+
+    public RedisSetBytesCommand(ReactiveRedisTemplate<String, byte[]> redisTemplate, String cacheKey,
+            byte[] cacheValue, Duration timeToLive)
+    {
+        super(redisTemplate);
+
+        this.cacheKey = cacheKey;
+        this.cacheValue = cacheValue.clone();
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    protected Mono<byte[]> executeBytes(ReactiveRedisTemplate<String, byte[]> redisTemplate)
+    {
+        Mono<Boolean> set = timeToLive == null
+                ? redisTemplate.opsForValue().set(cacheKey, cacheValue)
+                : redisTemplate.opsForValue().set(cacheKey, cacheValue, timeToLive);
+
+        return set.map(written -> written.toString().getBytes(UTF_8));
+    }
+}
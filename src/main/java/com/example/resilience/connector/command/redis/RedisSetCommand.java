@@ -4,23 +4,38 @@ import com.example.resilience.connector.model.CacheKey;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 public class RedisSetCommand extends RedisCommand
 {
     private final String cacheKey;
     private final String cacheValue;
+    private final Duration timeToLive;
 
     public RedisSetCommand(ReactiveRedisTemplate<String, String> redisTemplate, String cacheKey, String cacheValue)
+    {
+        this(redisTemplate, cacheKey, cacheValue, null);
+    }
+
+    public RedisSetCommand(ReactiveRedisTemplate<String, String> redisTemplate, String cacheKey, String cacheValue,
+            Duration timeToLive)
     {
         super(redisTemplate);
 
         this.cacheKey = cacheKey;
         this.cacheValue = cacheValue;
+        this.timeToLive = timeToLive;
     }
 
     @Override
     protected Mono<String> execute(ReactiveRedisTemplate<String, String> redisTemplate)
     {
-        return redisTemplate.opsForValue().set(cacheKey, cacheValue).map(Object::toString);
+        if (timeToLive == null)
+        {
+            return redisTemplate.opsForValue().set(cacheKey, cacheValue).map(Object::toString);
+        }
+
+        return redisTemplate.opsForValue().set(cacheKey, cacheValue, timeToLive).map(Object::toString);
     }
 
     @Override
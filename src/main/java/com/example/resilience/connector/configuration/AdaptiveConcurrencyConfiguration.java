@@ -0,0 +1,43 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class AdaptiveConcurrencyConfiguration
+{
+    private final boolean adaptiveConcurrencyEnabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+
+    public AdaptiveConcurrencyConfiguration(boolean adaptiveConcurrencyEnabled, int initialLimit, int minLimit,
+            int maxLimit)
+    {
+        this.adaptiveConcurrencyEnabled = adaptiveConcurrencyEnabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public boolean isAdaptiveConcurrencyEnabled()
+    {
+        return adaptiveConcurrencyEnabled;
+    }
+
+    public int getInitialLimit()
+    {
+        return initialLimit;
+    }
+
+    public int getMinLimit()
+    {
+        return minLimit;
+    }
+
+    public int getMaxLimit()
+    {
+        return maxLimit;
+    }
+}
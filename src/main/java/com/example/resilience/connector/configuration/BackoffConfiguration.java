@@ -0,0 +1,37 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class BackoffConfiguration
+{
+    private final BackoffStrategy backoffStrategy;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public BackoffConfiguration(BackoffStrategy backoffStrategy, Duration baseDelay, Duration maxDelay)
+    {
+        this.backoffStrategy = backoffStrategy;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    public BackoffStrategy getBackoffStrategy()
+    {
+        return backoffStrategy;
+    }
+
+    public Duration getBaseDelay()
+    {
+        return baseDelay;
+    }
+
+    public Duration getMaxDelay()
+    {
+        return maxDelay;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.resilience.connector.configuration;
+
+public enum BackoffStrategy
+{
+    NONE,
+    FIXED,
+    EXPONENTIAL,
+    DECORRELATED_JITTER
+}
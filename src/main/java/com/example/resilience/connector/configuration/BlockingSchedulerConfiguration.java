@@ -0,0 +1,35 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class BlockingSchedulerConfiguration
+{
+    private final int threads;
+    private final int queueCapacity;
+    private final boolean virtualThreadsEnabled;
+
+    public BlockingSchedulerConfiguration(int threads, int queueCapacity, boolean virtualThreadsEnabled)
+    {
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+    public boolean isVirtualThreadsEnabled()
+    {
+        return virtualThreadsEnabled;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class CacheCompressionConfiguration
+{
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+
+    public CacheCompressionConfiguration(boolean compressionEnabled, int compressionThreshold)
+    {
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public boolean isCompressionEnabled()
+    {
+        return compressionEnabled;
+    }
+
+    public int getCompressionThreshold()
+    {
+        return compressionThreshold;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class CacheConfiguration
+{
+    private final boolean cacheEnabled;
+    private final String host;
+    private final int port;
+    private final int batchSize;
+    private final CacheTtlConfiguration ttlConfiguration;
+    private final NearCacheConfiguration nearCacheConfiguration;
+    private final CacheWriteBehindConfiguration writeBehindConfiguration;
+    private final CacheCompressionConfiguration compressionConfiguration;
+    private final CacheGuardConfiguration guardConfiguration;
+
+    public CacheConfiguration(boolean cacheEnabled, String host, int port, int batchSize,
+            CacheTtlConfiguration ttlConfiguration, NearCacheConfiguration nearCacheConfiguration,
+            CacheWriteBehindConfiguration writeBehindConfiguration,
+            CacheCompressionConfiguration compressionConfiguration, CacheGuardConfiguration guardConfiguration)
+    {
+        this.cacheEnabled = cacheEnabled;
+        this.host = host;
+        this.port = port;
+        this.batchSize = batchSize;
+        this.ttlConfiguration = ttlConfiguration;
+        this.nearCacheConfiguration = nearCacheConfiguration;
+        this.writeBehindConfiguration = writeBehindConfiguration;
+        this.compressionConfiguration = compressionConfiguration;
+        this.guardConfiguration = guardConfiguration;
+    }
+
+    public boolean isCacheEnabled()
+    {
+        return cacheEnabled;
+    }
+
+    public String getHost()
+    {
+        return host;
+    }
+
+    public int getPort()
+    {
+        return port;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public CacheTtlConfiguration getTtlConfiguration()
+    {
+        return ttlConfiguration;
+    }
+
+    public NearCacheConfiguration getNearCacheConfiguration()
+    {
+        return nearCacheConfiguration;
+    }
+
+    public CacheWriteBehindConfiguration getWriteBehindConfiguration()
+    {
+        return writeBehindConfiguration;
+    }
+
+    public CacheCompressionConfiguration getCompressionConfiguration()
+    {
+        return compressionConfiguration;
+    }
+
+    public CacheGuardConfiguration getGuardConfiguration()
+    {
+        return guardConfiguration;
+    }
+}
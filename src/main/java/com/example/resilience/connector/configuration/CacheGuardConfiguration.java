@@ -0,0 +1,67 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class CacheGuardConfiguration
+{
+    private final boolean cacheGuardEnabled;
+    private final int circuitBreakerBufferSize;
+    private final Duration waitDurationInOpenState;
+    private final double timeoutPercentile;
+    private final double timeoutMultiplier;
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+
+    public CacheGuardConfiguration(boolean cacheGuardEnabled, int circuitBreakerBufferSize,
+            Duration waitDurationInOpenState, double timeoutPercentile, double timeoutMultiplier,
+            Duration minTimeout, Duration maxTimeout)
+    {
+        this.cacheGuardEnabled = cacheGuardEnabled;
+        this.circuitBreakerBufferSize = circuitBreakerBufferSize;
+        this.waitDurationInOpenState = waitDurationInOpenState;
+        this.timeoutPercentile = timeoutPercentile;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    public boolean isCacheGuardEnabled()
+    {
+        return cacheGuardEnabled;
+    }
+
+    public int getCircuitBreakerBufferSize()
+    {
+        return circuitBreakerBufferSize;
+    }
+
+    public Duration getWaitDurationInOpenState()
+    {
+        return waitDurationInOpenState;
+    }
+
+    public double getTimeoutPercentile()
+    {
+        return timeoutPercentile;
+    }
+
+    public double getTimeoutMultiplier()
+    {
+        return timeoutMultiplier;
+    }
+
+    public Duration getMinTimeout()
+    {
+        return minTimeout;
+    }
+
+    public Duration getMaxTimeout()
+    {
+        return maxTimeout;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class CacheTtlConfiguration
+{
+    private final Duration softTimeToLive;
+    private final Duration hardTimeToLive;
+    private final Duration staleWhileRevalidate;
+    private final boolean staleIfErrorEnabled;
+
+    public CacheTtlConfiguration(Duration softTimeToLive, Duration hardTimeToLive, Duration staleWhileRevalidate,
+            boolean staleIfErrorEnabled)
+    {
+        this.softTimeToLive = softTimeToLive;
+        this.hardTimeToLive = hardTimeToLive;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleIfErrorEnabled = staleIfErrorEnabled;
+
+        // redis would drop the entry before its stale window ends
+        if (hardTimeToLive != null && softTimeToLive != null
+                && hardTimeToLive.compareTo(staleWindowEnd(softTimeToLive, staleWhileRevalidate)) < 0)
+        {
+            throw new IllegalArgumentException("Hard time to live: " + hardTimeToLive
+                    + " ends before the soft time to live and stale-while-revalidate window: " + this);
+        }
+    }
+
+    private static Duration staleWindowEnd(Duration softTimeToLive, Duration staleWhileRevalidate)
+    {
+        return staleWhileRevalidate == null ? softTimeToLive : softTimeToLive.plus(staleWhileRevalidate);
+    }
+
+    public Duration getSoftTimeToLive()
+    {
+        return softTimeToLive;
+    }
+
+    public Duration getHardTimeToLive()
+    {
+        return hardTimeToLive;
+    }
+
+    public Duration getStaleWhileRevalidate()
+    {
+        return staleWhileRevalidate;
+    }
+
+    public boolean isStaleIfErrorEnabled()
+    {
+        return staleIfErrorEnabled;
+    }
+
+    public boolean isSoftExpiryEnabled()
+    {
+        return softTimeToLive != null;
+    }
+
+    public boolean isStaleWhileRevalidateEnabled()
+    {
+        return isSoftExpiryEnabled() && staleWhileRevalidate != null;
+    }
+}
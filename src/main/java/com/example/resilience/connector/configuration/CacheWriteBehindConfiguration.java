@@ -0,0 +1,52 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class CacheWriteBehindConfiguration
+{
+    private final boolean writeBehindEnabled;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final WriteBehindDropPolicy dropPolicy;
+
+    public CacheWriteBehindConfiguration(boolean writeBehindEnabled, int capacity, int batchSize,
+            Duration flushInterval, WriteBehindDropPolicy dropPolicy)
+    {
+        this.writeBehindEnabled = writeBehindEnabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.dropPolicy = dropPolicy;
+    }
+
+    public boolean isWriteBehindEnabled()
+    {
+        return writeBehindEnabled;
+    }
+
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public Duration getFlushInterval()
+    {
+        return flushInterval;
+    }
+
+    public WriteBehindDropPolicy getDropPolicy()
+    {
+        return dropPolicy;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class CircuitBreakerConfiguration
+{
+    private final int bufferSize;
+    private final CircuitBreakerWindowConfiguration windowConfiguration;
+
+    public CircuitBreakerConfiguration(int bufferSize, CircuitBreakerWindowConfiguration windowConfiguration)
+    {
+        this.bufferSize = bufferSize;
+        this.windowConfiguration = windowConfiguration;
+    }
+
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+    public CircuitBreakerWindowConfiguration getWindowConfiguration()
+    {
+        return windowConfiguration;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class CircuitBreakerWindowConfiguration
+{
+    private final boolean slidingWindowEnabled;
+    private final Duration slidingWindow;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final Duration slowCallDurationThreshold;
+    private final float slowCallRateThreshold;
+
+    public CircuitBreakerWindowConfiguration(boolean slidingWindowEnabled, Duration slidingWindow,
+            int minimumNumberOfCalls, float failureRateThreshold, Duration slowCallDurationThreshold,
+            float slowCallRateThreshold)
+    {
+        this.slidingWindowEnabled = slidingWindowEnabled;
+        this.slidingWindow = slidingWindow;
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDurationThreshold = slowCallDurationThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public boolean isSlidingWindowEnabled()
+    {
+        return slidingWindowEnabled;
+    }
+
+    public Duration getSlidingWindow()
+    {
+        return slidingWindow;
+    }
+
+    public int getMinimumNumberOfCalls()
+    {
+        return minimumNumberOfCalls;
+    }
+
+    public float getFailureRateThreshold()
+    {
+        return failureRateThreshold;
+    }
+
+    public Duration getSlowCallDurationThreshold()
+    {
+        return slowCallDurationThreshold;
+    }
+
+    public float getSlowCallRateThreshold()
+    {
+        return slowCallRateThreshold;
+    }
+}
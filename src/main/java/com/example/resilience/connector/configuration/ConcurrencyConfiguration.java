@@ -0,0 +1,51 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class ConcurrencyConfiguration
+{
+    private final int bulkhead;
+    private final AdaptiveConcurrencyConfiguration adaptiveConfiguration;
+    private final RateLimitConfiguration rateLimitConfiguration;
+    private final BlockingSchedulerConfiguration schedulerConfiguration;
+    private final boolean coalescingEnabled;
+
+    public ConcurrencyConfiguration(int bulkhead, AdaptiveConcurrencyConfiguration adaptiveConfiguration,
+            RateLimitConfiguration rateLimitConfiguration, BlockingSchedulerConfiguration schedulerConfiguration,
+            boolean coalescingEnabled)
+    {
+        this.bulkhead = bulkhead;
+        this.adaptiveConfiguration = adaptiveConfiguration;
+        this.rateLimitConfiguration = rateLimitConfiguration;
+        this.schedulerConfiguration = schedulerConfiguration;
+        this.coalescingEnabled = coalescingEnabled;
+    }
+
+    public int getBulkhead()
+    {
+        return bulkhead;
+    }
+
+    public AdaptiveConcurrencyConfiguration getAdaptiveConfiguration()
+    {
+        return adaptiveConfiguration;
+    }
+
+    public RateLimitConfiguration getRateLimitConfiguration()
+    {
+        return rateLimitConfiguration;
+    }
+
+    public BlockingSchedulerConfiguration getSchedulerConfiguration()
+    {
+        return schedulerConfiguration;
+    }
+
+    public boolean isCoalescingEnabled()
+    {
+        return coalescingEnabled;
+    }
+}
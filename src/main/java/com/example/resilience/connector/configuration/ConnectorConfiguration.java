@@ -1,8 +1,10 @@
 package com.example.resilience.connector.configuration;
 
+import com.example.resilience.connector.pipeline.ReplaceableCircuitBreakerRegistry;
+import com.example.resilience.connector.pipeline.ReplaceableRateLimiterRegistry;
 import io.github.resilience4j.bulkhead.BulkheadRegistry;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -12,15 +14,15 @@ import org.springframework.context.annotation.Configuration;
 public class ConnectorConfiguration
 {
     @Bean
-    public CircuitBreakerRegistry circuitBreakerRegistry()
+    public ReplaceableCircuitBreakerRegistry circuitBreakerRegistry()
     {
-        return CircuitBreakerRegistry.ofDefaults();
+        return ReplaceableCircuitBreakerRegistry.ofDefaults();
     }
 
     @Bean
-    public RateLimiterRegistry rateLimiterRegistry()
+    public ReplaceableRateLimiterRegistry rateLimiterRegistry()
     {
-        return RateLimiterRegistry.ofDefaults();
+        return ReplaceableRateLimiterRegistry.ofDefaults();
     }
 
     @Bean
@@ -28,4 +30,10 @@ public class ConnectorConfiguration
     {
         return BulkheadRegistry.ofDefaults();
     }
+
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources()
+    {
+        return DefaultClientResources.create();
+    }
 }
@@ -1,31 +1,38 @@
 package com.example.resilience.connector.configuration;
 
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
 import java.time.Duration;
 
+@ToString
+@EqualsAndHashCode
 public class EndpointConfiguration
 {
     private final String name;
-    private final int bulkhead;
-    private final int retries;
-    private final Duration timeout;
-    private final RateLimitConfiguration rateLimitConfiguration;
-    private final int circuitBreakerBufferSize;
-    private final boolean cacheEnabled;
-    private final int cachePort;
+    private final ConcurrencyConfiguration concurrencyConfiguration;
+    private final RetryConfiguration retryConfiguration;
+    private final TimeoutConfiguration timeoutConfiguration;
+    private final CircuitBreakerConfiguration circuitBreakerConfiguration;
+    private final CacheConfiguration cacheConfiguration;
+    private final HttpClientConfiguration httpClientConfiguration;
+    private final LoadBalancingConfiguration loadBalancingConfiguration;
     private final boolean loggingEnabled;
 
-    public EndpointConfiguration(String name, int bulkhead, int retries, Duration timeout,
-            RateLimitConfiguration rateLimitConfiguration, int circuitBreakerBufferSize, boolean cacheEnabled,
-            int cachePort, boolean loggingEnabled)
+    public EndpointConfiguration(String name, ConcurrencyConfiguration concurrencyConfiguration,
+            RetryConfiguration retryConfiguration, TimeoutConfiguration timeoutConfiguration,
+            CircuitBreakerConfiguration circuitBreakerConfiguration, CacheConfiguration cacheConfiguration,
+            HttpClientConfiguration httpClientConfiguration, LoadBalancingConfiguration loadBalancingConfiguration,
+            boolean loggingEnabled)
     {
         this.name = name;
-        this.bulkhead = bulkhead;
-        this.retries = retries;
-        this.timeout = timeout;
-        this.rateLimitConfiguration = rateLimitConfiguration;
-        this.circuitBreakerBufferSize = circuitBreakerBufferSize;
-        this.cacheEnabled = cacheEnabled;
-        this.cachePort = cachePort;
+        this.concurrencyConfiguration = concurrencyConfiguration;
+        this.retryConfiguration = retryConfiguration;
+        this.timeoutConfiguration = timeoutConfiguration;
+        this.circuitBreakerConfiguration = circuitBreakerConfiguration;
+        this.cacheConfiguration = cacheConfiguration;
+        this.httpClientConfiguration = httpClientConfiguration;
+        this.loadBalancingConfiguration = loadBalancingConfiguration;
         this.loggingEnabled = loggingEnabled;
     }
 
@@ -34,43 +41,78 @@ public class EndpointConfiguration
         return name;
     }
 
-    public int getBulkhead()
+    public ConcurrencyConfiguration getConcurrencyConfiguration()
     {
-        return bulkhead;
+        return concurrencyConfiguration;
     }
 
-    public int getRetries()
+    public RetryConfiguration getRetryConfiguration()
     {
-        return retries;
+        return retryConfiguration;
     }
 
-    public Duration getTimeout()
+    public TimeoutConfiguration getTimeoutConfiguration()
     {
-        return timeout;
+        return timeoutConfiguration;
     }
 
-    public RateLimitConfiguration getRateLimitConfiguration()
+    public CircuitBreakerConfiguration getCircuitBreakerConfiguration()
     {
-        return rateLimitConfiguration;
+        return circuitBreakerConfiguration;
     }
 
-    public int getCircuitBreakerBufferSize()
+    public CacheConfiguration getCacheConfiguration()
     {
-        return circuitBreakerBufferSize;
+        return cacheConfiguration;
     }
 
-    public boolean isCacheEnabled()
+    public HttpClientConfiguration getHttpClientConfiguration()
     {
-        return cacheEnabled;
+        return httpClientConfiguration;
     }
 
-    public int getCachePort()
+    public LoadBalancingConfiguration getLoadBalancingConfiguration()
     {
-        return cachePort;
+        return loadBalancingConfiguration;
     }
 
     public boolean isLoggingEnabled()
     {
         return loggingEnabled;
     }
+
+    public int getBulkhead()
+    {
+        return concurrencyConfiguration.getBulkhead();
+    }
+
+    public RateLimitConfiguration getRateLimitConfiguration()
+    {
+        return concurrencyConfiguration.getRateLimitConfiguration();
+    }
+
+    public int getRetries()
+    {
+        return retryConfiguration.getRetries();
+    }
+
+    public Duration getTimeout()
+    {
+        return timeoutConfiguration.getTimeout();
+    }
+
+    public int getCircuitBreakerBufferSize()
+    {
+        return circuitBreakerConfiguration.getBufferSize();
+    }
+
+    public boolean isCacheEnabled()
+    {
+        return cacheConfiguration.isCacheEnabled();
+    }
+
+    public int getCachePort()
+    {
+        return cacheConfiguration.getPort();
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class HedgingConfiguration
+{
+    private final boolean hedgingEnabled;
+    private final Duration hedgeDelay;
+    private final double hedgeDelayPercentile;
+    private final double hedgeRatio;
+    private final int maxHedgeBalance;
+
+    public HedgingConfiguration(boolean hedgingEnabled, Duration hedgeDelay, double hedgeDelayPercentile,
+            double hedgeRatio, int maxHedgeBalance)
+    {
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeDelay = hedgeDelay;
+        this.hedgeDelayPercentile = hedgeDelayPercentile;
+        this.hedgeRatio = hedgeRatio;
+        this.maxHedgeBalance = maxHedgeBalance;
+    }
+
+    public boolean isHedgingEnabled()
+    {
+        return hedgingEnabled;
+    }
+
+    public Duration getHedgeDelay()
+    {
+        return hedgeDelay;
+    }
+
+    public double getHedgeDelayPercentile()
+    {
+        return hedgeDelayPercentile;
+    }
+
+    public double getHedgeRatio()
+    {
+        return hedgeRatio;
+    }
+
+    public int getMaxHedgeBalance()
+    {
+        return maxHedgeBalance;
+    }
+}
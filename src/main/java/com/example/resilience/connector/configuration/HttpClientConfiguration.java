@@ -0,0 +1,59 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class HttpClientConfiguration
+{
+    private final int maxConnections;
+    private final int pendingAcquireLimit;
+    private final Duration acquireTimeout;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final boolean keepAlive;
+
+    public HttpClientConfiguration(int maxConnections, int pendingAcquireLimit, Duration acquireTimeout,
+            Duration connectTimeout, Duration readTimeout, boolean keepAlive)
+    {
+        this.maxConnections = maxConnections;
+        this.pendingAcquireLimit = pendingAcquireLimit;
+        this.acquireTimeout = acquireTimeout;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.keepAlive = keepAlive;
+    }
+
+    public int getMaxConnections()
+    {
+        return maxConnections;
+    }
+
+    public int getPendingAcquireLimit()
+    {
+        return pendingAcquireLimit;
+    }
+
+    public Duration getAcquireTimeout()
+    {
+        return acquireTimeout;
+    }
+
+    public Duration getConnectTimeout()
+    {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout()
+    {
+        return readTimeout;
+    }
+
+    public boolean isKeepAlive()
+    {
+        return keepAlive;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+
+@ToString
+@EqualsAndHashCode
+public class LoadBalancingConfiguration
+{
+    private final boolean loadBalancingEnabled;
+    private final List<String> instances;
+    private final int circuitBreakerBufferSize;
+    private final int consecutiveFailuresForEjection;
+    private final double latencyOutlierFactor;
+    private final Duration baseEjectionTime;
+    private final int maxEjectionPercent;
+
+    public LoadBalancingConfiguration(boolean loadBalancingEnabled, List<String> instances,
+            int circuitBreakerBufferSize, int consecutiveFailuresForEjection, double latencyOutlierFactor,
+            Duration baseEjectionTime, int maxEjectionPercent)
+    {
+        this.loadBalancingEnabled = loadBalancingEnabled;
+        this.instances = instances;
+        this.circuitBreakerBufferSize = circuitBreakerBufferSize;
+        this.consecutiveFailuresForEjection = consecutiveFailuresForEjection;
+        this.latencyOutlierFactor = latencyOutlierFactor;
+        this.baseEjectionTime = baseEjectionTime;
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public boolean isLoadBalancingEnabled()
+    {
+        return loadBalancingEnabled;
+    }
+
+    public List<String> getInstances()
+    {
+        return instances;
+    }
+
+    public int getCircuitBreakerBufferSize()
+    {
+        return circuitBreakerBufferSize;
+    }
+
+    public int getConsecutiveFailuresForEjection()
+    {
+        return consecutiveFailuresForEjection;
+    }
+
+    public double getLatencyOutlierFactor()
+    {
+        return latencyOutlierFactor;
+    }
+
+    public Duration getBaseEjectionTime()
+    {
+        return baseEjectionTime;
+    }
+
+    public int getMaxEjectionPercent()
+    {
+        return maxEjectionPercent;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class NearCacheConfiguration
+{
+    private final boolean nearCacheEnabled;
+    private final long maximumSize;
+    private final Duration timeToLive;
+
+    public NearCacheConfiguration(boolean nearCacheEnabled, long maximumSize, Duration timeToLive)
+    {
+        this.nearCacheEnabled = nearCacheEnabled;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+
+    public boolean isNearCacheEnabled()
+    {
+        return nearCacheEnabled;
+    }
+
+    public long getMaximumSize()
+    {
+        return maximumSize;
+    }
+
+    public Duration getTimeToLive()
+    {
+        return timeToLive;
+    }
+}
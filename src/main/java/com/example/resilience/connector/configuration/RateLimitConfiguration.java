@@ -1,7 +1,12 @@
 package com.example.resilience.connector.configuration;
 
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
 import java.time.Duration;
 
+@ToString
+@EqualsAndHashCode
 public class RateLimitConfiguration
 {
     private final boolean rateLimitEnabled;
@@ -0,0 +1,35 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class RetryBudgetConfiguration
+{
+    private final boolean retryBudgetEnabled;
+    private final double retryRatio;
+    private final int maxRetryBalance;
+
+    public RetryBudgetConfiguration(boolean retryBudgetEnabled, double retryRatio, int maxRetryBalance)
+    {
+        this.retryBudgetEnabled = retryBudgetEnabled;
+        this.retryRatio = retryRatio;
+        this.maxRetryBalance = maxRetryBalance;
+    }
+
+    public boolean isRetryBudgetEnabled()
+    {
+        return retryBudgetEnabled;
+    }
+
+    public double getRetryRatio()
+    {
+        return retryRatio;
+    }
+
+    public int getMaxRetryBalance()
+    {
+        return maxRetryBalance;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public class RetryConfiguration
+{
+    private final int retries;
+    private final BackoffConfiguration backoffConfiguration;
+    private final RetryBudgetConfiguration budgetConfiguration;
+
+    public RetryConfiguration(int retries, BackoffConfiguration backoffConfiguration,
+            RetryBudgetConfiguration budgetConfiguration)
+    {
+        this.retries = retries;
+        this.backoffConfiguration = backoffConfiguration;
+        this.budgetConfiguration = budgetConfiguration;
+    }
+
+    public int getRetries()
+    {
+        return retries;
+    }
+
+    public BackoffConfiguration getBackoffConfiguration()
+    {
+        return backoffConfiguration;
+    }
+
+    public RetryBudgetConfiguration getBudgetConfiguration()
+    {
+        return budgetConfiguration;
+    }
+}
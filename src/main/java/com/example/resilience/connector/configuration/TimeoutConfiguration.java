@@ -0,0 +1,37 @@
+package com.example.resilience.connector.configuration;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@ToString
+@EqualsAndHashCode
+public class TimeoutConfiguration
+{
+    private final Duration timeout;
+    private final Duration deadline;
+    private final HedgingConfiguration hedgingConfiguration;
+
+    public TimeoutConfiguration(Duration timeout, Duration deadline, HedgingConfiguration hedgingConfiguration)
+    {
+        this.timeout = timeout;
+        this.deadline = deadline;
+        this.hedgingConfiguration = hedgingConfiguration;
+    }
+
+    public Duration getTimeout()
+    {
+        return timeout;
+    }
+
+    public Duration getDeadline()
+    {
+        return deadline;
+    }
+
+    public HedgingConfiguration getHedgingConfiguration()
+    {
+        return hedgingConfiguration;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.resilience.connector.configuration;
+
+public enum WriteBehindDropPolicy
+{
+    DROP_OLDEST,
+    DROP_NEWEST
+}
@@ -1,21 +1,72 @@
 package com.example.resilience.connector.configuration.builder;
 
+import com.example.resilience.connector.configuration.AdaptiveConcurrencyConfiguration;
+import com.example.resilience.connector.configuration.BackoffConfiguration;
+import com.example.resilience.connector.configuration.BackoffStrategy;
+import com.example.resilience.connector.configuration.BlockingSchedulerConfiguration;
+import com.example.resilience.connector.configuration.CacheCompressionConfiguration;
+import com.example.resilience.connector.configuration.CacheConfiguration;
+import com.example.resilience.connector.configuration.CacheGuardConfiguration;
+import com.example.resilience.connector.configuration.CacheTtlConfiguration;
+import com.example.resilience.connector.configuration.CacheWriteBehindConfiguration;
+import com.example.resilience.connector.configuration.CircuitBreakerConfiguration;
+import com.example.resilience.connector.configuration.CircuitBreakerWindowConfiguration;
+import com.example.resilience.connector.configuration.ConcurrencyConfiguration;
 import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.HedgingConfiguration;
+import com.example.resilience.connector.configuration.HttpClientConfiguration;
+import com.example.resilience.connector.configuration.LoadBalancingConfiguration;
+import com.example.resilience.connector.configuration.NearCacheConfiguration;
 import com.example.resilience.connector.configuration.RateLimitConfiguration;
+import com.example.resilience.connector.configuration.RetryBudgetConfiguration;
+import com.example.resilience.connector.configuration.RetryConfiguration;
+import com.example.resilience.connector.configuration.TimeoutConfiguration;
+import com.example.resilience.connector.configuration.WriteBehindDropPolicy;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.UUID;
 
+// one flat setter per setting keeps test setups short,
+// build() groups them per feature
+@SuppressWarnings({"PMD.TooManyFields", "PMD.TooManyMethods"})
 public final class EndpointConfigurationBuilder
 {
     private String name;
     private int bulkhead = 10;
+    private AdaptiveConcurrencyConfiguration adaptiveConfiguration =
+            new AdaptiveConcurrencyConfiguration(false, 0, 0, 0);
     private int retries;
+    private BackoffConfiguration backoffConfiguration =
+            new BackoffConfiguration(BackoffStrategy.NONE, Duration.ZERO, Duration.ZERO);
+    private RetryBudgetConfiguration retryBudgetConfiguration = new RetryBudgetConfiguration(false, 0, 0);
     private Duration timeout;
+    private Duration deadline;
+    private BlockingSchedulerConfiguration blockingSchedulerConfiguration =
+            new BlockingSchedulerConfiguration(0, 100, false);
+    private HttpClientConfiguration httpClientConfiguration = new HttpClientConfiguration(50, 1000,
+            Duration.ofSeconds(5), Duration.ofSeconds(2), null, true);
+    private LoadBalancingConfiguration loadBalancingConfiguration = new LoadBalancingConfiguration(false,
+            Collections.emptyList(), 10, 5, 3, Duration.ofSeconds(30), 50);
+    private HedgingConfiguration hedgingConfiguration = new HedgingConfiguration(false, null, 95, 0, 0);
     private RateLimitConfiguration rateLimitConfiguration = new RateLimitConfiguration(false, null, 0);
     private int circuitBreakerBufferSize;
+    private CircuitBreakerWindowConfiguration windowConfiguration =
+            new CircuitBreakerWindowConfiguration(false, Duration.ofSeconds(60), 20, 50, null, 100);
+    private String cacheHost = "localhost";
     private int cachePort;
     private boolean cacheEnabled;
+    private int cacheBatchSize = 100;
+    private CacheTtlConfiguration cacheTtlConfiguration =
+            new CacheTtlConfiguration(null, Duration.ofHours(1), null, false);
+    private NearCacheConfiguration nearCacheConfiguration = new NearCacheConfiguration(false, 0, null);
+    private CacheWriteBehindConfiguration cacheWriteBehindConfiguration = new CacheWriteBehindConfiguration(false,
+            10_000, 100, Duration.ofMillis(50), WriteBehindDropPolicy.DROP_OLDEST);
+    private CacheCompressionConfiguration cacheCompressionConfiguration =
+            new CacheCompressionConfiguration(false, 1024);
+    private CacheGuardConfiguration cacheGuardConfiguration = new CacheGuardConfiguration(false, 20,
+            Duration.ofSeconds(5), 99, 3, Duration.ofMillis(10), Duration.ofSeconds(2));
+    private boolean coalescingEnabled;
     private boolean loggingEnabled = true;
 
     private EndpointConfigurationBuilder()
@@ -51,18 +102,70 @@ public final class EndpointConfigurationBuilder
         return this;
     }
 
+    public EndpointConfigurationBuilder withAdaptiveConcurrencyConfiguration(
+            AdaptiveConcurrencyConfiguration adaptiveConfiguration)
+    {
+        this.adaptiveConfiguration = adaptiveConfiguration;
+        return this;
+    }
+
     public EndpointConfigurationBuilder withRetries(int retries)
     {
         this.retries = retries;
         return this;
     }
 
+    public EndpointConfigurationBuilder withBackoffConfiguration(BackoffConfiguration backoffConfiguration)
+    {
+        this.backoffConfiguration = backoffConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withRetryBudgetConfiguration(
+            RetryBudgetConfiguration retryBudgetConfiguration)
+    {
+        this.retryBudgetConfiguration = retryBudgetConfiguration;
+        return this;
+    }
+
     public EndpointConfigurationBuilder withTimeout(Duration timeout)
     {
         this.timeout = timeout;
         return this;
     }
 
+    public EndpointConfigurationBuilder withDeadline(Duration deadline)
+    {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withBlockingSchedulerConfiguration(
+            BlockingSchedulerConfiguration blockingSchedulerConfiguration)
+    {
+        this.blockingSchedulerConfiguration = blockingSchedulerConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withHttpClientConfiguration(HttpClientConfiguration httpClientConfiguration)
+    {
+        this.httpClientConfiguration = httpClientConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withLoadBalancingConfiguration(
+            LoadBalancingConfiguration loadBalancingConfiguration)
+    {
+        this.loadBalancingConfiguration = loadBalancingConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withHedgingConfiguration(HedgingConfiguration hedgingConfiguration)
+    {
+        this.hedgingConfiguration = hedgingConfiguration;
+        return this;
+    }
+
     public EndpointConfigurationBuilder withRateLimitConfiguration(RateLimitConfiguration rateLimitConfiguration)
     {
         this.rateLimitConfiguration = rateLimitConfiguration;
@@ -75,6 +178,19 @@ public final class EndpointConfigurationBuilder
         return this;
     }
 
+    public EndpointConfigurationBuilder withCircuitBreakerWindowConfiguration(
+            CircuitBreakerWindowConfiguration windowConfiguration)
+    {
+        this.windowConfiguration = windowConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withCacheHost(String cacheHost)
+    {
+        this.cacheHost = cacheHost;
+        return this;
+    }
+
     public EndpointConfigurationBuilder withCachePort(int cachePort)
     {
         this.cachePort = cachePort;
@@ -87,6 +203,50 @@ public final class EndpointConfigurationBuilder
         return this;
     }
 
+    public EndpointConfigurationBuilder withCacheBatchSize(int cacheBatchSize)
+    {
+        this.cacheBatchSize = cacheBatchSize;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withCacheTtlConfiguration(CacheTtlConfiguration cacheTtlConfiguration)
+    {
+        this.cacheTtlConfiguration = cacheTtlConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withNearCacheConfiguration(NearCacheConfiguration nearCacheConfiguration)
+    {
+        this.nearCacheConfiguration = nearCacheConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withCacheWriteBehindConfiguration(
+            CacheWriteBehindConfiguration cacheWriteBehindConfiguration)
+    {
+        this.cacheWriteBehindConfiguration = cacheWriteBehindConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withCacheCompressionConfiguration(
+            CacheCompressionConfiguration cacheCompressionConfiguration)
+    {
+        this.cacheCompressionConfiguration = cacheCompressionConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withCacheGuardConfiguration(CacheGuardConfiguration cacheGuardConfiguration)
+    {
+        this.cacheGuardConfiguration = cacheGuardConfiguration;
+        return this;
+    }
+
+    public EndpointConfigurationBuilder withCoalescingEnabled(boolean coalescingEnabled)
+    {
+        this.coalescingEnabled = coalescingEnabled;
+        return this;
+    }
+
     public EndpointConfigurationBuilder withLoggingEnabled(boolean loggingEnabled)
     {
         this.loggingEnabled = loggingEnabled;
@@ -95,7 +255,15 @@ public final class EndpointConfigurationBuilder
 
     public EndpointConfiguration build()
     {
-        return new EndpointConfiguration(name, bulkhead, retries, timeout, rateLimitConfiguration,
-                circuitBreakerBufferSize, cacheEnabled, cachePort, loggingEnabled);
+        return new EndpointConfiguration(name,
+                new ConcurrencyConfiguration(bulkhead, adaptiveConfiguration, rateLimitConfiguration,
+                        blockingSchedulerConfiguration, coalescingEnabled),
+                new RetryConfiguration(retries, backoffConfiguration, retryBudgetConfiguration),
+                new TimeoutConfiguration(timeout, deadline, hedgingConfiguration),
+                new CircuitBreakerConfiguration(circuitBreakerBufferSize, windowConfiguration),
+                new CacheConfiguration(cacheEnabled, cacheHost, cachePort, cacheBatchSize, cacheTtlConfiguration,
+                        nearCacheConfiguration, cacheWriteBehindConfiguration, cacheCompressionConfiguration,
+                        cacheGuardConfiguration),
+                httpClientConfiguration, loadBalancingConfiguration, loggingEnabled);
     }
 }
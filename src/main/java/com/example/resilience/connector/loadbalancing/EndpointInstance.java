@@ -0,0 +1,118 @@
+package com.example.resilience.connector.loadbalancing;
+
+import com.example.resilience.connector.metrics.LatencyHistogram;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class EndpointInstance
+{
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final String address;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong ejectionCount = new AtomicLong();
+
+    private final AtomicLong latencyEwmaNanos = new AtomicLong();
+    private final AtomicLong ejectedUntilNanos = new AtomicLong();
+
+    public EndpointInstance(String address, CircuitBreaker circuitBreaker)
+    {
+        this.address = address;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public void start()
+    {
+        outstanding.incrementAndGet();
+        requestCount.incrementAndGet();
+    }
+
+    public void finish()
+    {
+        outstanding.decrementAndGet();
+    }
+
+    public void recordSuccess(long nanos)
+    {
+        consecutiveFailures.set(0);
+        recordLatency(nanos);
+    }
+
+    public int recordFailure()
+    {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    public void recordLatency(long nanos)
+    {
+        latencyHistogram.record(nanos);
+        latencyEwmaNanos.updateAndGet(ewma -> ewma == 0 ? nanos : ewma + (long) (EWMA_WEIGHT * (nanos - ewma)));
+    }
+
+    public void eject(long untilNanos)
+    {
+        ejectedUntilNanos.set(untilNanos);
+        ejectionCount.incrementAndGet();
+        consecutiveFailures.set(0);
+
+        // a returning instance is judged by its new latency, not by the one
+        // it was ejected for
+        latencyEwmaNanos.set(0);
+    }
+
+    public boolean isEjected(long nowNanos)
+    {
+        return ejectedUntilNanos.get() - nowNanos > 0;
+    }
+
+    public boolean isEjected()
+    {
+        return isEjected(System.nanoTime());
+    }
+
+    public String getAddress()
+    {
+        return address;
+    }
+
+    public CircuitBreaker getCircuitBreaker()
+    {
+        return circuitBreaker;
+    }
+
+    public LatencyHistogram getLatencyHistogram()
+    {
+        return latencyHistogram;
+    }
+
+    public int getOutstanding()
+    {
+        return outstanding.get();
+    }
+
+    public int getConsecutiveFailures()
+    {
+        return consecutiveFailures.get();
+    }
+
+    public double getLatencyEwmaNanos()
+    {
+        return latencyEwmaNanos.get();
+    }
+
+    public long getRequestCount()
+    {
+        return requestCount.get();
+    }
+
+    public long getEjectionCount()
+    {
+        return ejectionCount.get();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.resilience.connector.loadbalancing;
+
+import com.example.resilience.connector.configuration.LoadBalancingConfiguration;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerOpenException;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+public final class InstanceBalancer
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstanceBalancer.class);
+    private static final long MIN_LATENCY_SAMPLES = 20;
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+    private static final int MIN_INSTANCES_TO_COMPARE = 2;
+
+    private final String name;
+    private final LoadBalancingConfiguration configuration;
+    private final List<EndpointInstance> instances;
+    private final Object ejectionLock = new Object();
+
+    public InstanceBalancer(String name, LoadBalancingConfiguration configuration,
+            BiFunction<String, CircuitBreakerConfig, CircuitBreaker> circuitBreakers)
+    {
+        this.name = name;
+        this.configuration = configuration;
+
+        // an open instance circuit turns half open by itself, because a
+        // circuit that is never chosen is never asked
+        CircuitBreakerConfig circuitBreakerConfig =
+                CircuitBreakerConfig.custom()
+                                    .ringBufferSizeInClosedState(configuration.getCircuitBreakerBufferSize())
+                                    .enableAutomaticTransitionFromOpenToHalfOpen()
+                                    .build();
+
+        // registered like the endpoint breakers, so each instance circuit is
+        // visible and survives a rebuild with the same thresholds
+        this.instances = Collections.unmodifiableList(configuration.getInstances().stream()
+                .map(address -> new EndpointInstance(address,
+                        circuitBreakers.apply(name + "-" + address, circuitBreakerConfig)))
+                .collect(toList()));
+    }
+
+    public <T> Mono<T> execute(Function<String, Mono<T>> call)
+    {
+        // chosen per subscription, so every retry and hedge picks its instance again
+        return Mono.defer(() ->
+        {
+            EndpointInstance instance = choose();
+            Mono<T> instanceCall = call.apply(instance.getAddress());
+            long start = System.nanoTime();
+
+            return instanceCall.transform(CircuitBreakerOperator.of(instance.getCircuitBreaker()))
+                               .doOnSubscribe(subscription -> instance.start())
+                               .doOnSuccess(value -> onSuccess(instance, System.nanoTime() - start))
+                               .doOnError(throwable -> onError(instance, throwable))
+                               .doOnCancel(() -> onCancel(instance, System.nanoTime() - start))
+                               .doFinally(signalType -> instance.finish());
+        });
+    }
+
+    public EndpointInstance choose()
+    {
+        long now = System.nanoTime();
+        List<EndpointInstance> available = new ArrayList<>(instances.size());
+
+        for (EndpointInstance instance : instances)
+        {
+            if (!instance.isEjected(now) && instance.getCircuitBreaker().getState() != CircuitBreaker.State.OPEN)
+            {
+                available.add(instance);
+            }
+        }
+
+        // with every instance out, the endpoint is still tried instead of
+        // failing without a single call
+        List<EndpointInstance> candidates = available.isEmpty() ? instances : available;
+
+        if (candidates.size() < MIN_INSTANCES_TO_COMPARE)
+        {
+            return candidates.get(0);
+        }
+
+        // power of two choices: two random instances, the less loaded one wins
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+
+        return better(candidates.get(first), candidates.get(second >= first ? second + 1 : second));
+    }
+
+    private static EndpointInstance better(EndpointInstance first, EndpointInstance second)
+    {
+        if (first.getOutstanding() != second.getOutstanding())
+        {
+            return first.getOutstanding() < second.getOutstanding() ? first : second;
+        }
+
+        // a failing instance answers fast, so failures are compared before latency
+        if (first.getConsecutiveFailures() != second.getConsecutiveFailures())
+        {
+            return first.getConsecutiveFailures() < second.getConsecutiveFailures() ? first : second;
+        }
+
+        return first.getLatencyEwmaNanos() <= second.getLatencyEwmaNanos() ? first : second;
+    }
+
+    private void onSuccess(EndpointInstance instance, long nanos)
+    {
+        instance.recordSuccess(nanos);
+        ejectLatencyOutlier(instance);
+    }
+
+    private void onError(EndpointInstance instance, Throwable throwable)
+    {
+        // a call rejected by the instance circuit never reached the instance
+        if (throwable instanceof CircuitBreakerOpenException)
+        {
+            return;
+        }
+
+        if (instance.recordFailure() >= configuration.getConsecutiveFailuresForEjection())
+        {
+            eject(instance, "consecutive failures");
+        }
+    }
+
+    private void onCancel(EndpointInstance instance, long nanos)
+    {
+        // a timed out or out hedged call is at least this slow
+        instance.recordLatency(nanos);
+        ejectLatencyOutlier(instance);
+    }
+
+    private void ejectLatencyOutlier(EndpointInstance instance)
+    {
+        if (instances.size() < MIN_INSTANCES_TO_COMPARE
+                || instance.getLatencyHistogram().getCount() < MIN_LATENCY_SAMPLES)
+        {
+            return;
+        }
+
+        double medianNanos = medianLatencyOfOthers(instance);
+
+        if (medianNanos > 0 && instance.getLatencyEwmaNanos() > configuration.getLatencyOutlierFactor() * medianNanos)
+        {
+            eject(instance, "latency outlier");
+        }
+    }
+
+    private double medianLatencyOfOthers(EndpointInstance outlier)
+    {
+        long now = System.nanoTime();
+
+        List<Double> latencies = instances.stream()
+                                          .filter(instance -> instance != outlier && !instance.isEjected(now))
+                                          .map(EndpointInstance::getLatencyEwmaNanos)
+                                          .filter(latency -> latency > 0)
+                                          .sorted()
+                                          .collect(toList());
+
+        return latencies.isEmpty() ? 0 : latencies.get(latencies.size() / 2);
+    }
+
+    private void eject(EndpointInstance instance, String reason)
+    {
+        long ejectionNanos;
+
+        synchronized (ejectionLock)
+        {
+            ejectionNanos = ejectionNanos(instance);
+        }
+
+        if (ejectionNanos > 0)
+        {
+            LOGGER.warn("Eject instance {} of {} for {} ms because of {}", instance.getAddress(), name,
+                    ejectionNanos / 1_000_000, reason);
+        }
+    }
+
+    private long ejectionNanos(EndpointInstance instance)
+    {
+        long now = System.nanoTime();
+
+        if (instance.isEjected(now))
+        {
+            return 0;
+        }
+
+        long ejected = instances.stream().filter(other -> other.isEjected(now)).count();
+
+        // never eject so many instances that the rest is overloaded by the
+        // traffic they leave behind
+        if ((ejected + 1) * 100 > (long) configuration.getMaxEjectionPercent() * instances.size())
+        {
+            return 0;
+        }
+
+        long multiplier = Math.min(instance.getEjectionCount() + 1, MAX_EJECTION_MULTIPLIER);
+        long ejectionNanos = configuration.getBaseEjectionTime().toNanos() * multiplier;
+
+        instance.eject(now + ejectionNanos);
+
+        return ejectionNanos;
+    }
+
+    public List<EndpointInstance> getInstances()
+    {
+        return instances;
+    }
+
+    public EndpointInstance getInstance(String address)
+    {
+        return instances.stream().filter(instance -> instance.getAddress().equals(address)).findFirst().orElse(null);
+    }
+}
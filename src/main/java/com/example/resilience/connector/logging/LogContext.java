@@ -1,36 +1,192 @@
 package com.example.resilience.connector.logging;
 
 import com.example.resilience.connector.model.Result;
-import lombok.EqualsAndHashCode;
-import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
-@ToString
-@EqualsAndHashCode
 public final class LogContext
 {
-    private final Collection<Result<?>> results;
+    private final int capacity;
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final Chunk head = new Chunk(0);
+    // a hint where appends happen, writers do not walk the chain from the head
+    private final AtomicReference<Chunk> tail = new AtomicReference<>(head);
 
-    private LogContext(Collection<Result<?>> results)
+    private LogContext(int capacity)
     {
-        this.results = results;
+        this.capacity = capacity;
     }
 
     public static LogContext create()
     {
-        return new LogContext(new CopyOnWriteArrayList<>());
+        return new LogContext(Integer.MAX_VALUE);
     }
 
-    public Collection<Result<?>> getResults()
+    public static LogContext create(int capacity)
     {
-        return new ArrayList<>(results);
+        if (capacity < 0)
+        {
+            throw new IllegalArgumentException("Capacity can not be negative: " + capacity);
+        }
+
+        return new LogContext(capacity);
     }
 
     public void add(Result<?> result)
     {
-        results.add(result);
+        // a slot is reserved with one increment, writers never copy or lock
+        int index = reserved.getAndIncrement();
+
+        if (index >= capacity)
+        {
+            // handed back so the counter never wraps, lower indexes are not reissued
+            reserved.decrementAndGet();
+            overflowCount.incrementAndGet();
+            return;
+        }
+
+        chunkFor(index).set(index, result);
+    }
+
+    public Collection<Result<?>> getResults()
+    {
+        List<Result<?>> results = new ArrayList<>(size());
+
+        forEachResult(results::add);
+
+        return results;
+    }
+
+    public void forEachResult(Consumer<? super Result<?>> consumer)
+    {
+        // reserved but unwritten slots are skipped, the read is weakly consistent
+        // like the iterators of the java.util.concurrent collections
+        int size = size();
+        Chunk chunk = head;
+
+        while (chunk != null && chunk.getBase() < size)
+        {
+            chunk.forEachResult(size, consumer);
+            chunk = chunk.getNext();
+        }
+    }
+
+    public int size()
+    {
+        return Math.min(reserved.get(), capacity);
+    }
+
+    public long getOverflowCount()
+    {
+        return overflowCount.get();
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+
+        return other instanceof LogContext && getResults().equals(((LogContext) other).getResults());
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return getResults().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LogContext(results=" + getResults() + ")";
+    }
+
+    private Chunk chunkFor(int index)
+    {
+        Chunk hint = tail.get();
+        Chunk chunk = hint.getBase() > index ? head : hint;
+
+        while (index >= chunk.getBase() + Chunk.SIZE)
+        {
+            chunk = chunk.nextOrAppend();
+        }
+
+        Chunk current = tail.get();
+
+        if (chunk.getBase() > current.getBase())
+        {
+            tail.compareAndSet(current, chunk);
+        }
+
+        return chunk;
+    }
+
+    private static final class Chunk
+    {
+        public static final int SIZE = 256;
+
+        private final int base;
+        private final AtomicReferenceArray<Result<?>> slots = new AtomicReferenceArray<>(SIZE);
+        private final AtomicReference<Chunk> next = new AtomicReference<>();
+
+        public Chunk(int base)
+        {
+            this.base = base;
+        }
+
+        public int getBase()
+        {
+            return base;
+        }
+
+        public Chunk getNext()
+        {
+            return next.get();
+        }
+
+        public Chunk nextOrAppend()
+        {
+            Chunk existing = next.get();
+
+            if (existing != null)
+            {
+                return existing;
+            }
+
+            Chunk appended = new Chunk(base + SIZE);
+
+            return next.compareAndSet(null, appended) ? appended : next.get();
+        }
+
+        public void set(int index, Result<?> result)
+        {
+            slots.set(index - base, result);
+        }
+
+        public void forEachResult(int size, Consumer<? super Result<?>> consumer)
+        {
+            int limit = Math.min(SIZE, size - base);
+
+            for (int i = 0; i < limit; i++)
+            {
+                Result<?> result = slots.get(i);
+
+                if (result != null)
+                {
+                    consumer.accept(result);
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,59 @@
+package com.example.resilience.connector.metrics;
+
+import com.example.resilience.connector.command.BlockingSchedulerSaturatedException;
+import com.example.resilience.connector.model.Result;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerOpenException;
+
+import java.util.concurrent.TimeoutException;
+
+public enum CommandOutcome
+{
+    SUCCESS,
+    CACHE_HIT,
+    STALE_CACHE_HIT,
+    ERROR,
+    TIMEOUT,
+    CIRCUIT_OPEN,
+    BULKHEAD_FULL,
+    SCHEDULER_SATURATED;
+
+    public static CommandOutcome from(Result<?> result)
+    {
+        if (result.isStale())
+        {
+            return STALE_CACHE_HIT;
+        }
+
+        if (result.isSuccess())
+        {
+            // an empty result is flagged as from cache as well, only a cached response
+            // counts as a hit
+            return result.isFromCache() && !result.isRawResponseNull() ? CACHE_HIT : SUCCESS;
+        }
+
+        Throwable throwable = result.getThrowable();
+
+        if (throwable instanceof TimeoutException)
+        {
+            return TIMEOUT;
+        }
+
+        if (throwable instanceof CircuitBreakerOpenException)
+        {
+            return CIRCUIT_OPEN;
+        }
+
+        if (throwable instanceof BulkheadFullException)
+        {
+            return BULKHEAD_FULL;
+        }
+
+        if (throwable instanceof BlockingSchedulerSaturatedException)
+        {
+            return SCHEDULER_SATURATED;
+        }
+
+        return ERROR;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.resilience.connector.metrics;
+
+import com.example.resilience.connector.model.Result;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+public final class EndpointLatencyRecorder
+{
+    private final String name;
+    private final Map<CommandOutcome, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicReference<IntSupplier> concurrencyLimit = new AtomicReference<>();
+
+    public EndpointLatencyRecorder(String name)
+    {
+        this.name = name;
+
+        // filled up front, so every outcome has a histogram before its first command
+        Arrays.stream(CommandOutcome.values()).forEach(outcome -> histograms.put(outcome, new LatencyHistogram()));
+    }
+
+    public void record(Result<?> result, long nanos)
+    {
+        histograms.get(CommandOutcome.from(result)).record(nanos);
+    }
+
+    public void bindConcurrencyLimit(IntSupplier limit)
+    {
+        concurrencyLimit.set(limit);
+    }
+
+    public void unbindConcurrencyLimit()
+    {
+        concurrencyLimit.set(null);
+    }
+
+    public OptionalInt getConcurrencyLimit()
+    {
+        IntSupplier limit = concurrencyLimit.get();
+
+        return limit == null ? OptionalInt.empty() : OptionalInt.of(limit.getAsInt());
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public LatencyHistogram getHistogram(CommandOutcome outcome)
+    {
+        return histograms.get(outcome);
+    }
+
+    public Map<CommandOutcome, LatencySnapshot> snapshot()
+    {
+        Map<CommandOutcome, LatencySnapshot> snapshots = new ConcurrentHashMap<>();
+
+        histograms.forEach((outcome, histogram) -> snapshots.put(outcome, histogram.snapshot()));
+
+        return Collections.unmodifiableMap(snapshots);
+    }
+}
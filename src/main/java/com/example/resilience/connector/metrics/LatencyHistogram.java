@@ -0,0 +1,130 @@
+package com.example.resilience.connector.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class LatencyHistogram
+{
+    // log-linear buckets in the spirit of HdrHistogram: 32 linear sub-buckets per
+    // power of two, ~3% precision
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_SHIFT = 39 - SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_SHIFT + 1) * SUB_BUCKET_COUNT;
+    private static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long nanos)
+    {
+        buckets.incrementAndGet(bucketIndex(Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS))));
+    }
+
+    public long getCount()
+    {
+        long count = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            count += buckets.get(i);
+        }
+
+        return count;
+    }
+
+    public long getValueAtPercentile(double percentile)
+    {
+        long[] counts = copyCounts();
+        long total = 0;
+
+        for (long count : counts)
+        {
+            total += count;
+        }
+
+        return valueAtPercentile(counts, total, percentile);
+    }
+
+    public LatencySnapshot snapshot()
+    {
+        // percentiles are read from one copy so they stay consistent while other
+        // threads keep recording
+        long[] counts = copyCounts();
+        long total = 0;
+        int highestIndex = 0;
+
+        for (int i = 0; i < counts.length; i++)
+        {
+            total += counts[i];
+
+            if (counts[i] > 0)
+            {
+                highestIndex = i;
+            }
+        }
+
+        return new LatencySnapshot(total, valueAtPercentile(counts, total, 50), valueAtPercentile(counts, total, 90),
+                valueAtPercentile(counts, total, 99), valueAtPercentile(counts, total, 99.9),
+                total == 0 ? 0 : highestEquivalentValue(highestIndex));
+    }
+
+    private static long valueAtPercentile(long[] counts, long total, double percentile)
+    {
+        if (total == 0)
+        {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+
+        for (int i = 0; i < counts.length; i++)
+        {
+            cumulative += counts[i];
+
+            if (cumulative >= rank)
+            {
+                return highestEquivalentValue(i);
+            }
+        }
+
+        return MAX_TRACKABLE_NANOS;
+    }
+
+    private long[] copyCounts()
+    {
+        long[] counts = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts[i] = buckets.get(i);
+        }
+
+        return counts;
+    }
+
+    private static int bucketIndex(long nanos)
+    {
+        if (nanos < SUB_BUCKET_COUNT)
+        {
+            return (int) nanos;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        int subBucket = (int) (nanos >>> shift) - SUB_BUCKET_COUNT;
+
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestEquivalentValue(int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
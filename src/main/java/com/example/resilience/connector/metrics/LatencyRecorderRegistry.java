@@ -0,0 +1,38 @@
+package com.example.resilience.connector.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class LatencyRecorderRegistry
+{
+    private final ConcurrentMap<String, EndpointLatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    public EndpointLatencyRecorder recorder(String endpointName)
+    {
+        return recorders.computeIfAbsent(endpointName, EndpointLatencyRecorder::new);
+    }
+
+    public Map<String, Map<CommandOutcome, LatencySnapshot>> snapshot()
+    {
+        Map<String, Map<CommandOutcome, LatencySnapshot>> snapshots = new ConcurrentHashMap<>();
+
+        recorders.forEach((endpointName, recorder) -> snapshots.put(endpointName, recorder.snapshot()));
+
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    public Map<String, Integer> concurrencyLimits()
+    {
+        Map<String, Integer> limits = new ConcurrentHashMap<>();
+
+        recorders.forEach((endpointName, recorder) ->
+                recorder.getConcurrencyLimit().ifPresent(limit -> limits.put(endpointName, limit)));
+
+        return Collections.unmodifiableMap(limits);
+    }
+}
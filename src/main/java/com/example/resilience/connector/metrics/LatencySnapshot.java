@@ -0,0 +1,56 @@
+package com.example.resilience.connector.metrics;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+public final class LatencySnapshot
+{
+    private final long count;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    public LatencySnapshot(long count, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos)
+    {
+        this.count = count;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public long getP50Nanos()
+    {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos()
+    {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos()
+    {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos()
+    {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos()
+    {
+        return maxNanos;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.resilience.connector.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class RollingLatencyWindow
+{
+    public static final long NOT_OBSERVED = -1;
+
+    private static final long WINDOW_NANOS = Duration.ofSeconds(5).toNanos();
+    private static final long MIN_SAMPLES = 100;
+
+    private final double percentile;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicReference<LatencyHistogram> currentWindow = new AtomicReference<>(new LatencyHistogram());
+    private final AtomicLong observedNanos = new AtomicLong(NOT_OBSERVED);
+
+    public RollingLatencyWindow(double percentile)
+    {
+        this.percentile = percentile;
+    }
+
+    public void record(long nanos)
+    {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+
+        // the percentile is taken from the last completed window, a window with
+        // too few samples says nothing
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now))
+        {
+            LatencyHistogram completedWindow = currentWindow.getAndSet(new LatencyHistogram());
+            observedNanos.set(completedWindow.getCount() < MIN_SAMPLES
+                    ? NOT_OBSERVED
+                    : completedWindow.getValueAtPercentile(percentile));
+        }
+
+        currentWindow.get().record(nanos);
+    }
+
+    public long getObservedNanos()
+    {
+        return observedNanos.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.resilience.connector.model;
+
+import reactor.util.context.Context;
+
+import java.time.Duration;
+
+public final class Deadline
+{
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos)
+    {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration timeout)
+    {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Deadline from(Context context)
+    {
+        return context.getOrDefault(Deadline.class, null);
+    }
+
+    public Context putInto(Context context)
+    {
+        return context.put(Deadline.class, this);
+    }
+
+    public Deadline earliest(Deadline other)
+    {
+        // nano times are only comparable by their difference, see System.nanoTime
+        return other == null || deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+
+    public Duration remaining()
+    {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public Duration limit(Duration timeout)
+    {
+        Duration remaining = remaining();
+
+        return timeout == null || remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    public boolean isExpired()
+    {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Deadline(remaining=" + remaining() + ")";
+    }
+}
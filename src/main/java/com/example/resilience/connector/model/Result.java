@@ -1,48 +1,76 @@
 package com.example.resilience.connector.model;
 
+import com.example.resilience.connector.serialization.Deserializer;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 @ToString
 @EqualsAndHashCode
 public final class Result<T>
 {
     private final T response;
     private final String rawResponse;
+    // wraps a byte response without a copy; deserializers get the array itself
+    // and must not modify it
+    private final ByteBuffer rawBytes;
     private final Throwable throwable;
     private final boolean fromCache;
-
-    private Result(T response, String rawResponse, Throwable throwable, boolean fromCache)
+    private final boolean stale;
+    // a racy single check is enough, strings are safely published
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String decodedRawBytes;
+
+    private Result(T response, String rawResponse, ByteBuffer rawBytes, Throwable throwable, boolean fromCache,
+            boolean stale)
     {
         this.response = response;
         this.rawResponse = rawResponse;
+        this.rawBytes = rawBytes;
         this.throwable = throwable;
         this.fromCache = fromCache;
+        this.stale = stale;
     }
 
     public static <T> Result<T> ofError(Throwable throwable)
     {
-        return new Result<>(null, null, throwable, false);
+        return new Result<>(null, null, null, throwable, false, false);
     }
 
     public static Result<String> ofResponse(String response)
     {
-        return new Result<>(response, response, null, false);
+        return new Result<>(response, response, null, null, false, false);
     }
 
     public static <T> Result<T> ofRawResponse(String rawResponse)
     {
-        return new Result<>(null, rawResponse, null, false);
+        return new Result<>(null, rawResponse, null, null, false, false);
+    }
+
+    public static <T> Result<T> ofRawBytes(byte[] rawBytes)
+    {
+        return new Result<>(null, null, ByteBuffer.wrap(rawBytes), null, false, false);
+    }
+
+    public static <T> Result<T> ofDeserializedResponse(T response, byte[] rawBytes)
+    {
+        ByteBuffer wrapped = rawBytes == null ? null : ByteBuffer.wrap(rawBytes);
+
+        return new Result<>(response, null, wrapped, null, false, false);
     }
 
     public static <T> Result<T> markAsRawResponseFromCache(Result<String> cacheResult)
     {
-        return new Result<>(null, cacheResult.getResponse(), cacheResult.getThrowable(), true);
+        return new Result<>(null, cacheResult.getResponse(), null, cacheResult.getThrowable(), true, false);
     }
 
     public static <T> Result<T> empty()
     {
-        return new Result<>(null, null, null, true);
+        return new Result<>(null, null, null, null, true, false);
     }
 
     public T getResponse()
@@ -52,7 +80,42 @@ public final class Result<T>
 
     public String getRawResponse()
     {
-        return rawResponse;
+        if (rawResponse != null || rawBytes == null)
+        {
+            return rawResponse;
+        }
+
+        // a byte response is decoded once and only when a string is asked for,
+        // e.g. to store it in the cache
+        String decoded = decodedRawBytes;
+
+        if (decoded == null)
+        {
+            decoded = new String(rawBytes.array(), UTF_8);
+            decodedRawBytes = decoded;
+        }
+
+        return decoded;
+    }
+
+    public Result<T> deserializeWith(Deserializer<T> deserializer)
+    {
+        if (isDeserialized())
+        {
+            return this;
+        }
+
+        // byte responses reach the deserializer without a string in between
+        T deserialized = rawBytes == null
+                ? deserializer.deserialize(rawResponse)
+                : deserializer.deserialize(rawBytes.array());
+
+        return addDeserializedResponse(deserialized);
+    }
+
+    public boolean hasRawBytes()
+    {
+        return rawBytes != null;
     }
 
     public Throwable getThrowable()
@@ -65,14 +128,24 @@ public final class Result<T>
         return fromCache;
     }
 
+    public boolean isStale()
+    {
+        return stale;
+    }
+
     public <U> Result<U> markAsFromCache()
     {
-        return new Result<>(null, this.rawResponse, this.throwable, true);
+        return new Result<>(null, this.rawResponse, this.rawBytes, this.throwable, true, this.stale);
+    }
+
+    public <U> Result<U> markAsStale()
+    {
+        return new Result<>(null, this.rawResponse, this.rawBytes, this.throwable, this.fromCache, true);
     }
 
     public <U> Result<U> addDeserializedResponse(U response)
     {
-        return new Result<>(response, this.rawResponse, this.throwable, this.fromCache);
+        return new Result<>(response, this.rawResponse, this.rawBytes, this.throwable, this.fromCache, this.stale);
     }
 
     public boolean isSuccess()
@@ -80,8 +153,13 @@ public final class Result<T>
         return throwable == null;
     }
 
+    public boolean isDeserialized()
+    {
+        return response != null;
+    }
+
     public boolean isRawResponseNull()
     {
-        return rawResponse == null;
+        return rawResponse == null && rawBytes == null;
     }
 }
@@ -0,0 +1,243 @@
+package com.example.resilience.connector.pipeline;
+
+import com.example.resilience.connector.cache.CacheGuard;
+import com.example.resilience.connector.cache.EndpointCache;
+import com.example.resilience.connector.command.BlockingCommandScheduler;
+import com.example.resilience.connector.command.CommandChain;
+import com.example.resilience.connector.command.MonoCommandBuilder;
+import com.example.resilience.connector.command.decorator.DeadlineDecorator;
+import com.example.resilience.connector.command.decorator.RequestCoalescer;
+import com.example.resilience.connector.configuration.CacheConfiguration;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.metrics.EndpointLatencyRecorder;
+import com.example.resilience.connector.model.CacheKey;
+import com.example.resilience.connector.model.CommandDescriptor;
+import com.example.resilience.connector.model.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.stream.Collectors.toList;
+
+public final class EndpointPipeline implements Disposable
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointPipeline.class);
+    private static final Duration CACHE_BATCH_TIMEOUT = Duration.ofMillis(2000);
+
+    private final EndpointConfiguration configuration;
+    private final EndpointPolicies policies;
+    private final EndpointCache endpointCache;
+    private final RequestCoalescer requestCoalescer;
+    private final BlockingCommandScheduler blockingCommandScheduler;
+    private final EndpointLatencyRecorder latencyRecorder;
+    private final CommandChain commandChain;
+    private final AtomicBoolean disposed = new AtomicBoolean();
+
+    public EndpointPipeline(EndpointConfiguration configuration, EndpointPolicies policies,
+            EndpointCache endpointCache, RequestCoalescer requestCoalescer,
+            BlockingCommandScheduler blockingCommandScheduler, EndpointLatencyRecorder latencyRecorder)
+    {
+        this.configuration = configuration;
+        this.policies = policies;
+        this.endpointCache = endpointCache;
+        this.requestCoalescer = requestCoalescer;
+        this.blockingCommandScheduler = blockingCommandScheduler;
+        this.latencyRecorder = latencyRecorder;
+        this.commandChain = buildChain();
+    }
+
+    public <T> Mono<Result<T>> execute(CommandDescriptor<T> commandDescriptor)
+    {
+        return record(commandChain.execute(commandDescriptor.getCommand(), commandDescriptor.getDeserializer()));
+    }
+
+    public <T> Flux<Result<T>> executeBatch(List<CommandDescriptor<T>> commandDescriptors)
+    {
+        int concurrency = Math.max(1, commandDescriptors.size());
+
+        if (!isCacheBatchingEnabled())
+        {
+            return Flux.fromIterable(commandDescriptors).flatMap(this::execute, concurrency);
+        }
+
+        return Flux.fromIterable(commandDescriptors)
+                   .buffer(configuration.getCacheConfiguration().getBatchSize())
+                   .flatMap(this::executeCacheBatch, concurrency);
+    }
+
+    private boolean isCacheBatchingEnabled()
+    {
+        // MGET hands back values without their age, so a batch can not tell a soft
+        // expired entry from a fresh one. With soft expiry every command looks up
+        // its own entry and refreshes it in the background when it is stale.
+        CacheConfiguration cacheConfiguration = configuration.getCacheConfiguration();
+
+        return cacheConfiguration.isCacheEnabled() && cacheConfiguration.getBatchSize() > 1
+                && !cacheConfiguration.getTtlConfiguration().isSoftExpiryEnabled();
+    }
+
+    private <T> Flux<Result<T>> executeCacheBatch(List<CommandDescriptor<T>> commandDescriptors)
+    {
+        List<String> cacheKeys = commandDescriptors.stream()
+                                                   .map(descriptor -> descriptor.getCommand().generateCacheKey())
+                                                   .map(CacheKey::getValue)
+                                                   .collect(toList());
+
+        Mono<List<byte[]>> multiGet = endpointCache.getRedisTemplate().opsForValue().multiGet(cacheKeys);
+
+        return guard(multiGet).doOnError(throwable -> LOGGER.warn(
+                                         "Batched cache lookup failed, fall back to single lookups: {}",
+                                         throwable.toString()))
+                                 .onErrorResume(throwable -> Mono.empty())
+                                 .flatMapMany(cachedResponses -> executePrefetched(commandDescriptors, cachedResponses))
+                                 .switchIfEmpty(Flux.fromIterable(commandDescriptors)
+                                                    .flatMap(this::execute, commandDescriptors.size()));
+    }
+
+    private Mono<List<byte[]>> guard(Mono<List<byte[]>> multiGet)
+    {
+        CacheGuard cacheGuard = endpointCache.getGuard();
+
+        Mono<List<byte[]>> guarded = cacheGuard == null ? multiGet.timeout(CACHE_BATCH_TIMEOUT)
+                : cacheGuard.guard(multiGet);
+
+        // the batch never outlives the endpoint deadline or the one of the caller
+        return guarded.transform(new DeadlineDecorator<>(configuration.getTimeoutConfiguration().getDeadline()));
+    }
+
+    private <T> Flux<Result<T>> executePrefetched(List<CommandDescriptor<T>> commandDescriptors,
+            List<byte[]> cachedResponses)
+    {
+        return Flux.range(0, commandDescriptors.size())
+                   .flatMap(i -> executePrefetched(commandDescriptors.get(i), cachedResponses.get(i)),
+                           commandDescriptors.size());
+    }
+
+    private <T> Mono<Result<T>> executePrefetched(CommandDescriptor<T> commandDescriptor, byte[] cachedResponse)
+    {
+        String decodedResponse = decode(cachedResponse);
+
+        // MGET answers a missing key with an empty value, an undecodable value is
+        // overwritten like a missing one
+        if (decodedResponse == null || decodedResponse.isEmpty())
+        {
+            return record(commandChain.executeCacheReadSkipped(commandDescriptor.getCommand(),
+                    commandDescriptor.getDeserializer()));
+        }
+
+        // a batch hit bypasses the cache decorator and with it the near cache. The
+        // MGET already answered every key in one round trip, so only single
+        // lookups fill the near cache.
+        return record(commandChain.executePrefetched(decodedResponse, commandDescriptor.getDeserializer()));
+    }
+
+    private String decode(byte[] cachedResponse)
+    {
+        try
+        {
+            return endpointCache.getValueCodec().decode(cachedResponse);
+        }
+        catch (IllegalStateException | IllegalArgumentException e)
+        {
+            // a corrupt or truncated entry, or a timestamp that is no number
+            LOGGER.warn("Batched cache value could not be decoded: {}", e.toString());
+            return null;
+        }
+    }
+
+    private CommandChain buildChain()
+    {
+        return MonoCommandBuilder.aChainBuilder()
+                                 .withEndpointConfiguration(configuration)
+                                 .withRetryBudget(policies.getRetryBudget())
+                                 .withHedgePolicy(policies.getHedgePolicy())
+                                 .withInstanceBalancer(policies.getInstanceBalancer())
+                                 .withCircuitBreaker(policies.getCircuitBreaker())
+                                 .withBulkhead(policies.getBulkhead())
+                                 .withConcurrencyLimiter(policies.getConcurrencyLimiter())
+                                 .withRateLimiter(policies.getRateLimiter())
+                                 .withEndpointCache(endpointCache)
+                                 .withRequestCoalescer(requestCoalescer)
+                                 .withBlockingCommandScheduler(blockingCommandScheduler)
+                                 .buildChain();
+    }
+
+    private <T> Mono<Result<T>> record(Mono<Result<T>> mono)
+    {
+        return Mono.defer(() ->
+        {
+            long start = System.nanoTime();
+
+            return mono.doOnNext(result ->
+            {
+                long nanos = System.nanoTime() - start;
+
+                latencyRecorder.record(result, nanos);
+                LOGGER.debug("Command duration: {} nanoseconds", nanos);
+            });
+        });
+    }
+
+    @Override
+    public void dispose()
+    {
+        if (!disposed.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        blockingCommandScheduler.dispose();
+
+        if (endpointCache != null)
+        {
+            endpointCache.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return disposed.get();
+    }
+
+    public boolean isBuiltFrom(EndpointConfiguration configuration)
+    {
+        return this.configuration == configuration || this.configuration.equals(configuration);
+    }
+
+    public EndpointConfiguration getConfiguration()
+    {
+        return configuration;
+    }
+
+    public EndpointPolicies getPolicies()
+    {
+        return policies;
+    }
+
+    public EndpointCache getEndpointCache()
+    {
+        return endpointCache;
+    }
+
+    public RequestCoalescer getRequestCoalescer()
+    {
+        return requestCoalescer;
+    }
+
+    public BlockingCommandScheduler getBlockingCommandScheduler()
+    {
+        return blockingCommandScheduler;
+    }
+
+    public EndpointLatencyRecorder getLatencyRecorder()
+    {
+        return latencyRecorder;
+    }
+}
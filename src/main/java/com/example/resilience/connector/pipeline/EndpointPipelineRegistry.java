@@ -0,0 +1,262 @@
+package com.example.resilience.connector.pipeline;
+
+import com.example.resilience.connector.cache.EndpointCache;
+import com.example.resilience.connector.command.BlockingCommandScheduler;
+import com.example.resilience.connector.command.decorator.AdaptiveConcurrencyLimiter;
+import com.example.resilience.connector.command.decorator.CircuitBreakerWindow;
+import com.example.resilience.connector.command.decorator.HedgePolicy;
+import com.example.resilience.connector.command.decorator.RequestCoalescer;
+import com.example.resilience.connector.command.decorator.TokenBudget;
+import com.example.resilience.connector.configuration.AdaptiveConcurrencyConfiguration;
+import com.example.resilience.connector.configuration.ConcurrencyConfiguration;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.HedgingConfiguration;
+import com.example.resilience.connector.configuration.LoadBalancingConfiguration;
+import com.example.resilience.connector.configuration.RateLimitConfiguration;
+import com.example.resilience.connector.configuration.RetryBudgetConfiguration;
+import com.example.resilience.connector.loadbalancing.InstanceBalancer;
+import com.example.resilience.connector.metrics.LatencyRecorderRegistry;
+import com.example.resilience.connector.template.RedisTemplateRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class EndpointPipelineRegistry implements DisposableBean
+{
+    private final ConcurrentMap<String, EndpointPipeline> pipelines = new ConcurrentHashMap<>();
+
+    private final ReplaceableCircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ReplaceableRateLimiterRegistry rateLimiterRegistry;
+    private final RedisTemplateRegistry redisTemplateRegistry;
+    private final LatencyRecorderRegistry latencyRecorderRegistry;
+
+    @Autowired
+    public EndpointPipelineRegistry(ReplaceableCircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry, ReplaceableRateLimiterRegistry rateLimiterRegistry,
+            RedisTemplateRegistry redisTemplateRegistry,
+            LatencyRecorderRegistry latencyRecorderRegistry)
+    {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.redisTemplateRegistry = redisTemplateRegistry;
+        this.latencyRecorderRegistry = latencyRecorderRegistry;
+    }
+
+    public EndpointPipeline pipeline(EndpointConfiguration configuration)
+    {
+        EndpointPipeline pipeline = pipelines.get(configuration.getName());
+
+        if (pipeline != null && pipeline.isBuiltFrom(configuration))
+        {
+            return pipeline;
+        }
+
+        return pipelines.compute(configuration.getName(), (name, existing) ->
+        {
+            if (existing != null && existing.isBuiltFrom(configuration))
+            {
+                return existing;
+            }
+
+            if (existing != null)
+            {
+                // running commands finish, the replaced pipeline drains
+                existing.dispose();
+            }
+
+            return create(configuration, existing);
+        });
+    }
+
+    public void invalidate(String endpointName)
+    {
+        EndpointPipeline pipeline = pipelines.remove(endpointName);
+
+        if (pipeline != null)
+        {
+            pipeline.dispose();
+        }
+    }
+
+    public void invalidateAll()
+    {
+        pipelines.keySet().forEach(this::invalidate);
+    }
+
+    @Override
+    public void destroy()
+    {
+        invalidateAll();
+    }
+
+    private EndpointPipeline create(EndpointConfiguration configuration, EndpointPipeline replaced)
+    {
+        String endpointName = configuration.getName();
+        ConcurrencyConfiguration concurrencyConfiguration = configuration.getConcurrencyConfiguration();
+        RequestCoalescer requestCoalescer = concurrencyConfiguration.isCoalescingEnabled()
+                ? new RequestCoalescer()
+                : null;
+        PolicyReuse reuse = new PolicyReuse(configuration, replaced);
+
+        EndpointPolicies policies = new EndpointPolicies(
+                reuse.policy(EndpointConfiguration::getCircuitBreakerConfiguration, EndpointPolicies::getCircuitBreaker,
+                        () -> circuitBreaker(endpointName, configuration)),
+                bulkhead(endpointName, concurrencyConfiguration),
+                reuse.policy(settings -> settings.getConcurrencyConfiguration().getAdaptiveConfiguration(),
+                        EndpointPolicies::getConcurrencyLimiter,
+                        () -> concurrencyLimiter(endpointName, concurrencyConfiguration.getAdaptiveConfiguration())),
+                rateLimiter(endpointName, concurrencyConfiguration.getRateLimitConfiguration()),
+                reuse.policy(settings -> settings.getRetryConfiguration().getBudgetConfiguration(),
+                        EndpointPolicies::getRetryBudget,
+                        () -> retryBudget(configuration.getRetryConfiguration().getBudgetConfiguration())),
+                reuse.policy(settings -> settings.getTimeoutConfiguration().getHedgingConfiguration(),
+                        EndpointPolicies::getHedgePolicy,
+                        () -> hedgePolicy(configuration.getTimeoutConfiguration().getHedgingConfiguration())),
+                reuse.policy(EndpointConfiguration::getLoadBalancingConfiguration,
+                        EndpointPolicies::getInstanceBalancer,
+                        () -> instanceBalancer(endpointName, configuration.getLoadBalancingConfiguration())));
+
+        return new EndpointPipeline(configuration, policies, endpointCache(endpointName, configuration),
+                requestCoalescer, blockingCommandScheduler(endpointName, concurrencyConfiguration),
+                latencyRecorderRegistry.recorder(endpointName));
+    }
+
+    private CircuitBreaker circuitBreaker(String endpointName, EndpointConfiguration configuration)
+    {
+        if (configuration.getCircuitBreakerConfiguration().getWindowConfiguration().isSlidingWindowEnabled())
+        {
+            return CircuitBreakerWindow.create(endpointName, configuration.getCircuitBreakerBufferSize(),
+                    configuration.getCircuitBreakerConfiguration().getWindowConfiguration(),
+                    circuitBreakerRegistry::reconcile);
+        }
+
+        CircuitBreakerConfig circuitBreakerConfig =
+                CircuitBreakerConfig.custom()
+                                    .ringBufferSizeInClosedState(configuration.getCircuitBreakerBufferSize())
+                                    .build();
+
+        return circuitBreakerRegistry.reconcile(endpointName, circuitBreakerConfig);
+    }
+
+    private Bulkhead bulkhead(String endpointName, ConcurrencyConfiguration configuration)
+    {
+        if (configuration.getAdaptiveConfiguration().isAdaptiveConcurrencyEnabled())
+        {
+            return null;
+        }
+
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom().maxConcurrentCalls(configuration.getBulkhead()).build();
+
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(endpointName, bulkheadConfig);
+
+        if (bulkhead.getBulkheadConfig().getMaxConcurrentCalls() != configuration.getBulkhead())
+        {
+            bulkhead.changeConfig(bulkheadConfig);
+        }
+
+        return bulkhead;
+    }
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter(String endpointName,
+            AdaptiveConcurrencyConfiguration configuration)
+    {
+        if (!configuration.isAdaptiveConcurrencyEnabled())
+        {
+            latencyRecorderRegistry.recorder(endpointName).unbindConcurrencyLimit();
+            return null;
+        }
+
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(endpointName, configuration);
+
+        // the recorder outlives the pipeline, so a rebuilt pipeline rebinds its limit
+        latencyRecorderRegistry.recorder(endpointName).bindConcurrencyLimit(concurrencyLimiter::getLimit);
+
+        return concurrencyLimiter;
+    }
+
+    private RateLimiter rateLimiter(String endpointName, RateLimitConfiguration configuration)
+    {
+        if (!configuration.isRateLimitEnabled())
+        {
+            return null;
+        }
+
+        return rateLimiterRegistry.reconcile(endpointName,
+                RateLimiterConfig.custom()
+                                 .limitForPeriod(configuration.getRateLimitPermitsPerPeriod())
+                                 .limitRefreshPeriod(configuration.getRateLimitPeriod())
+                                 .build());
+    }
+
+    private TokenBudget retryBudget(RetryBudgetConfiguration configuration)
+    {
+        return configuration.isRetryBudgetEnabled()
+                ? new TokenBudget(configuration.getRetryRatio(), configuration.getMaxRetryBalance())
+                : null;
+    }
+
+    private HedgePolicy hedgePolicy(HedgingConfiguration configuration)
+    {
+        return configuration.isHedgingEnabled() ? new HedgePolicy(configuration) : null;
+    }
+
+    private InstanceBalancer instanceBalancer(String endpointName, LoadBalancingConfiguration configuration)
+    {
+        if (!configuration.isLoadBalancingEnabled() || configuration.getInstances().isEmpty())
+        {
+            return null;
+        }
+
+        return new InstanceBalancer(endpointName, configuration, circuitBreakerRegistry::reconcile);
+    }
+
+    private EndpointCache endpointCache(String endpointName, EndpointConfiguration configuration)
+    {
+        if (!configuration.isCacheEnabled())
+        {
+            return null;
+        }
+
+        return EndpointCache.create(endpointName, configuration.getCacheConfiguration(),
+                redisTemplateRegistry.binaryRedisTemplate(configuration.getCacheConfiguration().getHost(),
+                        configuration.getCachePort()), circuitBreakerRegistry::reconcile);
+    }
+
+    private BlockingCommandScheduler blockingCommandScheduler(String endpointName,
+            ConcurrencyConfiguration configuration)
+    {
+        return new BlockingCommandScheduler(endpointName, blockingThreads(configuration),
+                configuration.getSchedulerConfiguration().getQueueCapacity(),
+                configuration.getSchedulerConfiguration().isVirtualThreadsEnabled());
+    }
+
+    private int blockingThreads(ConcurrencyConfiguration configuration)
+    {
+        int threads = configuration.getSchedulerConfiguration().getThreads();
+
+        if (threads > 0)
+        {
+            return threads;
+        }
+
+        // by default one thread per call the concurrency limit lets through
+        AdaptiveConcurrencyConfiguration adaptiveConfiguration = configuration.getAdaptiveConfiguration();
+
+        return Math.max(1, adaptiveConfiguration.isAdaptiveConcurrencyEnabled()
+                ? adaptiveConfiguration.getMaxLimit()
+                : configuration.getBulkhead());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.resilience.connector.pipeline;
+
+import com.example.resilience.connector.command.decorator.AdaptiveConcurrencyLimiter;
+import com.example.resilience.connector.command.decorator.HedgePolicy;
+import com.example.resilience.connector.command.decorator.TokenBudget;
+import com.example.resilience.connector.loadbalancing.InstanceBalancer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+
+public final class EndpointPolicies
+{
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RateLimiter rateLimiter;
+    private final TokenBudget retryBudget;
+    private final HedgePolicy hedgePolicy;
+    private final InstanceBalancer instanceBalancer;
+
+    public EndpointPolicies(CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+            AdaptiveConcurrencyLimiter concurrencyLimiter, RateLimiter rateLimiter, TokenBudget retryBudget,
+            HedgePolicy hedgePolicy, InstanceBalancer instanceBalancer)
+    {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rateLimiter = rateLimiter;
+        this.retryBudget = retryBudget;
+        this.hedgePolicy = hedgePolicy;
+        this.instanceBalancer = instanceBalancer;
+    }
+
+    public CircuitBreaker getCircuitBreaker()
+    {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead()
+    {
+        return bulkhead;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter()
+    {
+        return concurrencyLimiter;
+    }
+
+    public RateLimiter getRateLimiter()
+    {
+        return rateLimiter;
+    }
+
+    public TokenBudget getRetryBudget()
+    {
+        return retryBudget;
+    }
+
+    public HedgePolicy getHedgePolicy()
+    {
+        return hedgePolicy;
+    }
+
+    public InstanceBalancer getInstanceBalancer()
+    {
+        return instanceBalancer;
+    }
+}
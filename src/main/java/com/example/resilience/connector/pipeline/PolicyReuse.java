@@ -0,0 +1,31 @@
+package com.example.resilience.connector.pipeline;
+
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class PolicyReuse
+{
+    private final EndpointConfiguration configuration;
+    private final EndpointPipeline replaced;
+
+    public PolicyReuse(EndpointConfiguration configuration, EndpointPipeline replaced)
+    {
+        this.configuration = configuration;
+        this.replaced = replaced;
+    }
+
+    public <P> P policy(Function<EndpointConfiguration, Object> settings, Function<EndpointPolicies, P> policy,
+            Supplier<P> factory)
+    {
+        // a policy keeps what it learned across a rebuild while its own settings
+        // stay the same, e.g. when only a timeout changed
+        if (replaced != null && settings.apply(replaced.getConfiguration()).equals(settings.apply(configuration)))
+        {
+            return policy.apply(replaced.getPolicies());
+        }
+
+        return factory.get();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.resilience.connector.pipeline;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.vavr.collection.Array;
+import io.vavr.collection.Seq;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public final class ReplaceableCircuitBreakerRegistry implements CircuitBreakerRegistry
+{
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final CircuitBreakerConfig defaultConfig;
+
+    public ReplaceableCircuitBreakerRegistry(CircuitBreakerConfig defaultConfig)
+    {
+        this.defaultConfig = defaultConfig;
+    }
+
+    public static ReplaceableCircuitBreakerRegistry ofDefaults()
+    {
+        return new ReplaceableCircuitBreakerRegistry(CircuitBreakerConfig.ofDefaults());
+    }
+
+    @Override
+    public Seq<CircuitBreaker> getAllCircuitBreakers()
+    {
+        return Array.ofAll(circuitBreakers.values());
+    }
+
+    @Override
+    public CircuitBreaker circuitBreaker(String name)
+    {
+        return circuitBreaker(name, defaultConfig);
+    }
+
+    @Override
+    public CircuitBreaker circuitBreaker(String name, CircuitBreakerConfig config)
+    {
+        return circuitBreakers.computeIfAbsent(name, key -> CircuitBreaker.of(key, config));
+    }
+
+    @Override
+    public CircuitBreaker circuitBreaker(String name, Supplier<CircuitBreakerConfig> configSupplier)
+    {
+        return circuitBreakers.computeIfAbsent(name, key -> CircuitBreaker.of(key, configSupplier.get()));
+    }
+
+    public CircuitBreaker reconcile(String name, CircuitBreakerConfig config)
+    {
+        // a rebuild keeps the breaker and its state while the thresholds match
+        return circuitBreakers.compute(name, (key, existing) ->
+                existing != null && isConfiguredAs(existing.getCircuitBreakerConfig(), config)
+                        ? existing
+                        : CircuitBreaker.of(key, config));
+    }
+
+    public void remove(String name, CircuitBreaker circuitBreaker)
+    {
+        // only the given instance, a replacement registered in the meantime stays
+        circuitBreakers.remove(name, circuitBreaker);
+    }
+
+    private static boolean isConfiguredAs(CircuitBreakerConfig current, CircuitBreakerConfig config)
+    {
+        // failure predicates can not be compared, only the numbers are
+        return Float.compare(current.getFailureRateThreshold(), config.getFailureRateThreshold()) == 0
+                && current.getRingBufferSizeInClosedState() == config.getRingBufferSizeInClosedState()
+                && current.getRingBufferSizeInHalfOpenState() == config.getRingBufferSizeInHalfOpenState()
+                && current.getWaitDurationInOpenState().equals(config.getWaitDurationInOpenState())
+                && current.isAutomaticTransitionFromOpenToHalfOpenEnabled()
+                == config.isAutomaticTransitionFromOpenToHalfOpenEnabled();
+    }
+}
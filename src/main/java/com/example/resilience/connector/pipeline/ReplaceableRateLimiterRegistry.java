@@ -0,0 +1,76 @@
+package com.example.resilience.connector.pipeline;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.vavr.collection.Array;
+import io.vavr.collection.Seq;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public final class ReplaceableRateLimiterRegistry implements RateLimiterRegistry
+{
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final RateLimiterConfig defaultConfig;
+
+    public ReplaceableRateLimiterRegistry(RateLimiterConfig defaultConfig)
+    {
+        this.defaultConfig = defaultConfig;
+    }
+
+    public static ReplaceableRateLimiterRegistry ofDefaults()
+    {
+        return new ReplaceableRateLimiterRegistry(RateLimiterConfig.ofDefaults());
+    }
+
+    @Override
+    public Seq<RateLimiter> getAllRateLimiters()
+    {
+        return Array.ofAll(rateLimiters.values());
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name)
+    {
+        return rateLimiter(name, defaultConfig);
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, RateLimiterConfig config)
+    {
+        return rateLimiters.computeIfAbsent(name, key -> RateLimiter.of(key, config));
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, Supplier<RateLimiterConfig> configSupplier)
+    {
+        return rateLimiters.computeIfAbsent(name, key -> RateLimiter.of(key, configSupplier.get()));
+    }
+
+    public RateLimiter reconcile(String name, RateLimiterConfig config)
+    {
+        return rateLimiters.compute(name, (key, existing) ->
+        {
+            // the refresh period is fixed at creation, the rest changes in place
+            if (existing == null
+                    || !existing.getRateLimiterConfig().getLimitRefreshPeriod().equals(config.getLimitRefreshPeriod()))
+            {
+                return RateLimiter.of(key, config);
+            }
+
+            if (!existing.getRateLimiterConfig().getTimeoutDuration().equals(config.getTimeoutDuration()))
+            {
+                existing.changeTimeoutDuration(config.getTimeoutDuration());
+            }
+
+            if (existing.getRateLimiterConfig().getLimitForPeriod() != config.getLimitForPeriod())
+            {
+                existing.changeLimitForPeriod(config.getLimitForPeriod());
+            }
+
+            return existing;
+        });
+    }
+}
@@ -1,6 +1,15 @@
 package com.example.resilience.connector.serialization;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public interface Deserializer<T>
 {
     T deserialize(String raw);
+
+    default T deserialize(byte[] raw)
+    {
+        // byte oriented deserializers override this and skip the string copy; the
+        // array is shared with the result and must not be modified
+        return deserialize(new String(raw, UTF_8));
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.resilience.connector.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public class JsonDeserializer<T> implements Deserializer<T>
+{
+    private final ObjectReader objectReader;
+
+    public JsonDeserializer(ObjectMapper objectMapper, Class<T> type)
+    {
+        this.objectReader = objectMapper.readerFor(type);
+    }
+
+    @Override
+    public T deserialize(String raw)
+    {
+        if (raw == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return objectReader.readValue(raw);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] raw)
+    {
+        try
+        {
+            return objectReader.readValue(raw);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected ObjectReader getObjectReader()
+    {
+        return objectReader;
+    }
+}
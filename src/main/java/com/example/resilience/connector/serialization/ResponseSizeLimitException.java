@@ -0,0 +1,9 @@
+package com.example.resilience.connector.serialization;
+
+public class ResponseSizeLimitException extends RuntimeException
+{
+    public ResponseSizeLimitException(String message)
+    {
+        super(message);
+    }
+}
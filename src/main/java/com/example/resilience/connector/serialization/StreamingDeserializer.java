@@ -0,0 +1,11 @@
+package com.example.resilience.connector.serialization;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface StreamingDeserializer<T> extends Deserializer<T>
+{
+    // consumes and releases the buffers as they arrive, an empty body completes empty
+    Mono<T> deserialize(Flux<DataBuffer> body);
+}
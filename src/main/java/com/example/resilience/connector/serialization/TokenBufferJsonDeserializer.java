@@ -0,0 +1,159 @@
+package com.example.resilience.connector.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+// the body is tokenized chunk by chunk and each buffer is released right away,
+// but the tokens of the whole document are kept until it is bound; the
+// memory is bounded by the size limit, not by the chunk size
+public class TokenBufferJsonDeserializer<T> extends JsonDeserializer<T> implements StreamingDeserializer<T>
+{
+    private final ObjectMapper objectMapper;
+    private final long maxInMemorySize;
+
+    public TokenBufferJsonDeserializer(ObjectMapper objectMapper, Class<T> type, long maxInMemorySize)
+    {
+        super(objectMapper, type);
+
+        this.objectMapper = objectMapper;
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    @Override
+    public Mono<T> deserialize(Flux<DataBuffer> body)
+    {
+        return Mono.defer(() ->
+        {
+            TokenCollector<T> tokenCollector = new TokenCollector<>(objectMapper, getObjectReader(), maxInMemorySize);
+
+            return body.doOnNext(tokenCollector::feed)
+                       .then(Mono.fromCallable(tokenCollector::finish))
+                       .doFinally(signalType -> tokenCollector.close());
+        });
+    }
+
+    private static final class TokenCollector<T>
+    {
+        private static final Logger LOGGER = LoggerFactory.getLogger(TokenBufferJsonDeserializer.class);
+
+        private final ObjectMapper objectMapper;
+        private final ObjectReader objectReader;
+        private final long maxInMemorySize;
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final TokenBuffer tokenBuffer;
+        private long size;
+
+        public TokenCollector(ObjectMapper objectMapper, ObjectReader objectReader, long maxInMemorySize)
+        {
+            this.objectMapper = objectMapper;
+            this.objectReader = objectReader;
+            this.maxInMemorySize = maxInMemorySize;
+
+            try
+            {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.tokenBuffer = new TokenBuffer(parser);
+        }
+
+        public void feed(DataBuffer dataBuffer)
+        {
+            try
+            {
+                int length = dataBuffer.readableByteCount();
+                size += length;
+
+                if (size > maxInMemorySize)
+                {
+                    throw new ResponseSizeLimitException(
+                            "Response body exceeds the limit of " + maxInMemorySize + " bytes.");
+                }
+
+                feed(dataBuffer.asByteBuffer());
+                collectTokens();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            finally
+            {
+                DataBufferUtils.release(dataBuffer);
+            }
+        }
+
+        private void feed(ByteBuffer readable) throws IOException
+        {
+            // the parser consumes all input before the buffer is released, so
+            // a heap buffer is fed in place; only direct buffers are copied
+            if (readable.hasArray())
+            {
+                int start = readable.arrayOffset() + readable.position();
+                feeder.feedInput(readable.array(), start, start + readable.remaining());
+                return;
+            }
+
+            byte[] chunk = new byte[readable.remaining()];
+            readable.get(chunk);
+            feeder.feedInput(chunk, 0, chunk.length);
+        }
+
+        private void collectTokens() throws IOException
+        {
+            JsonToken token = parser.nextToken();
+
+            while (token != null && token != JsonToken.NOT_AVAILABLE)
+            {
+                tokenBuffer.copyCurrentEvent(parser);
+                token = parser.nextToken();
+            }
+        }
+
+        public T finish() throws IOException
+        {
+            feeder.endOfInput();
+            collectTokens();
+
+            if (size == 0)
+            {
+                return null;
+            }
+
+            return objectReader.readValue(tokenBuffer.asParser(objectMapper));
+        }
+
+        public void close()
+        {
+            try
+            {
+                parser.close();
+                tokenBuffer.close();
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("JSON parser could not be closed: {}", e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.resilience.connector.template;
+
+public class ConnectionPoolExhaustedException extends RuntimeException
+{
+    public ConnectionPoolExhaustedException(String message)
+    {
+        super(message);
+    }
+}
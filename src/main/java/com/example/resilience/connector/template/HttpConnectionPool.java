@@ -0,0 +1,125 @@
+package com.example.resilience.connector.template;
+
+import com.example.resilience.connector.configuration.HttpClientConfiguration;
+import com.example.resilience.connector.metrics.LatencyHistogram;
+import com.example.resilience.connector.metrics.LatencySnapshot;
+import io.netty.bootstrap.Bootstrap;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class HttpConnectionPool implements ConnectionProvider
+{
+    private final String name;
+    private final ConnectionProvider delegate;
+    private final int pendingAcquireLimit;
+
+    private final AtomicInteger pendingAcquireCount = new AtomicInteger();
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+
+    private HttpConnectionPool(String name, ConnectionProvider delegate, int pendingAcquireLimit)
+    {
+        this.name = name;
+        this.delegate = delegate;
+        this.pendingAcquireLimit = pendingAcquireLimit;
+    }
+
+    public static HttpConnectionPool create(String name, HttpClientConfiguration configuration)
+    {
+        ConnectionProvider connectionProvider = ConnectionProvider.fixed(name, configuration.getMaxConnections(),
+                configuration.getAcquireTimeout().toMillis());
+
+        return new HttpConnectionPool(name, connectionProvider, configuration.getPendingAcquireLimit());
+    }
+
+    @Override
+    public Mono<? extends Connection> acquire(Bootstrap bootstrap)
+    {
+        return Mono.defer(() ->
+        {
+            // the fixed pool queues acquires without bound, so
+            // the waiting ones are limited here
+            if (pendingAcquireCount.incrementAndGet() > pendingAcquireLimit)
+            {
+                pendingAcquireCount.decrementAndGet();
+                rejectedCount.incrementAndGet();
+                return Mono.error(new ConnectionPoolExhaustedException(
+                        "Connection pool " + name + " has more than " + pendingAcquireLimit + " pending acquires."));
+            }
+
+            long start = System.nanoTime();
+
+            return delegate.acquire(bootstrap)
+                           .doOnSuccess(connection -> recordAcquire(start))
+                           .doOnError(throwable -> failedCount.incrementAndGet())
+                           .doFinally(signalType -> pendingAcquireCount.decrementAndGet());
+        });
+    }
+
+    private void recordAcquire(long start)
+    {
+        acquiredCount.incrementAndGet();
+        acquireLatency.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void disposeWhen(SocketAddress address)
+    {
+        delegate.disposeWhen(address);
+    }
+
+    @Override
+    public Mono<Void> disposeLater()
+    {
+        return delegate.disposeLater();
+    }
+
+    @Override
+    public boolean isDisposed()
+    {
+        return delegate.isDisposed();
+    }
+
+    @Override
+    public int maxConnections()
+    {
+        return delegate.maxConnections();
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getPendingAcquireCount()
+    {
+        return pendingAcquireCount.get();
+    }
+
+    public long getAcquiredCount()
+    {
+        return acquiredCount.get();
+    }
+
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+
+    public LatencySnapshot getAcquireLatency()
+    {
+        return acquireLatency.snapshot();
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.resilience.connector.template;
 
+import io.lettuce.core.resource.ClientResources;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
 
 public final class RedisTemplateFactory
 {
@@ -18,6 +25,44 @@ public final class RedisTemplateFactory
 
         reactiveRedisConnectionFactory.afterPropertiesSet();
 
-        return new ReactiveStringRedisTemplate(reactiveRedisConnectionFactory);
+        return create(reactiveRedisConnectionFactory);
+    }
+
+    public static ReactiveRedisTemplate<String, String> create(LettuceConnectionFactory connectionFactory)
+    {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    public static ReactiveRedisTemplate<String, byte[]> createBinary(LettuceConnectionFactory connectionFactory)
+    {
+        // string keys, values are written and read as they are
+        RedisSerializationContext<String, byte[]> serializationContext =
+                RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.string())
+                        .value(SerializationPair.just(RedisTemplateFactory::toBytes, ByteBuffer::wrap))
+                        .build();
+
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    public static LettuceConnectionFactory createConnectionFactory(String host, int port,
+            ClientResources clientResources)
+    {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                                                                                   .clientResources(clientResources)
+                                                                                   .build();
+
+        LettuceConnectionFactory reactiveRedisConnectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(host, port), clientConfiguration);
+
+        reactiveRedisConnectionFactory.afterPropertiesSet();
+
+        return reactiveRedisConnectionFactory;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
     }
 }
@@ -0,0 +1,57 @@
+package com.example.resilience.connector.template;
+
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class RedisTemplateRegistry implements DisposableBean
+{
+    private final ConcurrentMap<String, LettuceConnectionFactory> connectionFactories = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ReactiveRedisTemplate<String, String>> redisTemplates =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ReactiveRedisTemplate<String, byte[]>> binaryRedisTemplates =
+            new ConcurrentHashMap<>();
+
+    private final ClientResources clientResources;
+
+    @Autowired
+    public RedisTemplateRegistry(ClientResources clientResources)
+    {
+        this.clientResources = clientResources;
+    }
+
+    public ReactiveRedisTemplate<String, String> redisTemplate(String host, int port)
+    {
+        return redisTemplates.computeIfAbsent(host + ':' + port,
+                key -> RedisTemplateFactory.create(connectionFactory(key, host, port)));
+    }
+
+    public ReactiveRedisTemplate<String, byte[]> binaryRedisTemplate(String host, int port)
+    {
+        // shares the connection of the string template for the same host and port
+        return binaryRedisTemplates.computeIfAbsent(host + ':' + port,
+                key -> RedisTemplateFactory.createBinary(connectionFactory(key, host, port)));
+    }
+
+    @Override
+    public void destroy()
+    {
+        redisTemplates.clear();
+        binaryRedisTemplates.clear();
+        connectionFactories.values().forEach(LettuceConnectionFactory::destroy);
+        connectionFactories.clear();
+    }
+
+    private LettuceConnectionFactory connectionFactory(String key, String host, int port)
+    {
+        return connectionFactories.computeIfAbsent(key,
+                factoryKey -> RedisTemplateFactory.createConnectionFactory(host, port, clientResources));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.resilience.connector.template;
+
+import com.example.resilience.connector.configuration.HttpClientConfiguration;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.tcp.TcpClient;
+
+import java.util.concurrent.TimeUnit;
+
+public final class WebClientFactory
+{
+    private WebClientFactory()
+    {
+    }
+
+    public static WebClient create(HttpConnectionPool connectionPool, HttpClientConfiguration configuration)
+    {
+        HttpClient httpClient = HttpClient.create(connectionPool)
+                                          .keepAlive(configuration.isKeepAlive())
+                                          .tcpConfiguration(tcpClient -> configure(tcpClient, configuration));
+
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    private static TcpClient configure(TcpClient tcpClient, HttpClientConfiguration configuration)
+    {
+        TcpClient configuredTcpClient = tcpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                (int) configuration.getConnectTimeout().toMillis());
+
+        if (configuration.getReadTimeout() == null)
+        {
+            return configuredTcpClient;
+        }
+
+        long readTimeoutMillis = configuration.getReadTimeout().toMillis();
+
+        // the handler is removed again when the connection is released to the pool
+        return configuredTcpClient.doOnConnected(connection -> connection.addHandlerLast(
+                new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.resilience.connector.template;
+
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.HttpClientConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.stream.Collectors.toMap;
+
+@Component
+public class WebClientRegistry implements DisposableBean
+{
+    private final ConcurrentMap<String, PooledWebClient> webClients = new ConcurrentHashMap<>();
+
+    public WebClient webClient(EndpointConfiguration configuration)
+    {
+        return pooledWebClient(configuration).getWebClient();
+    }
+
+    public HttpConnectionPool connectionPool(String endpointName)
+    {
+        PooledWebClient pooledWebClient = webClients.get(endpointName);
+
+        return pooledWebClient == null ? null : pooledWebClient.getConnectionPool();
+    }
+
+    public Map<String, HttpConnectionPool> connectionPools()
+    {
+        return webClients.entrySet()
+                         .stream()
+                         .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().getConnectionPool()));
+    }
+
+    @Override
+    public void destroy()
+    {
+        webClients.values().forEach(pooledWebClient -> pooledWebClient.getConnectionPool().dispose());
+        webClients.clear();
+    }
+
+    private PooledWebClient pooledWebClient(EndpointConfiguration configuration)
+    {
+        HttpClientConfiguration httpClientConfiguration = configuration.getHttpClientConfiguration();
+        PooledWebClient pooledWebClient = webClients.get(configuration.getName());
+
+        if (pooledWebClient != null && pooledWebClient.getConfiguration().equals(httpClientConfiguration))
+        {
+            return pooledWebClient;
+        }
+
+        return webClients.compute(configuration.getName(), (name, existing) ->
+        {
+            if (existing != null && existing.getConfiguration().equals(httpClientConfiguration))
+            {
+                return existing;
+            }
+
+            if (existing != null)
+            {
+                // the connections of the replaced pool are closed,
+                // exchanges still running on it fail
+                existing.getConnectionPool().disposeLater().subscribe();
+            }
+
+            return create(name, httpClientConfiguration);
+        });
+    }
+
+    private PooledWebClient create(String endpointName, HttpClientConfiguration configuration)
+    {
+        HttpConnectionPool connectionPool = HttpConnectionPool.create(endpointName, configuration);
+
+        return new PooledWebClient(configuration, connectionPool,
+                WebClientFactory.create(connectionPool, configuration));
+    }
+
+    private static final class PooledWebClient
+    {
+        private final HttpClientConfiguration configuration;
+        private final HttpConnectionPool connectionPool;
+        private final WebClient webClient;
+
+        public PooledWebClient(HttpClientConfiguration configuration, HttpConnectionPool connectionPool,
+                WebClient webClient)
+        {
+            this.configuration = configuration;
+            this.connectionPool = connectionPool;
+            this.webClient = webClient;
+        }
+
+        public HttpClientConfiguration getConfiguration()
+        {
+            return configuration;
+        }
+
+        public HttpConnectionPool getConnectionPool()
+        {
+            return connectionPool;
+        }
+
+        public WebClient getWebClient()
+        {
+            return webClient;
+        }
+    }
+}
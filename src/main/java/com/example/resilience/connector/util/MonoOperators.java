@@ -1,9 +1,14 @@
 package com.example.resilience.connector.util;
 
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
 import reactor.util.context.Context;
 
+import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -17,15 +22,113 @@ public final class MonoOperators
     public static <T, V> Function<? super Mono<T>, ? extends Publisher<V>> mapWithContext(
             BiFunction<T, Context, V> mapper)
     {
-        return mono -> mono.flatMap(t -> Mono.subscriberContext().map(context -> mapper.apply(t, context)));
+        // reads the downstream context inline, no Mono.subscriberContext() per element
+        return Operators.lift((scannable, actual) -> new ContextMappingSubscriber<>(actual, mapper));
     }
 
     public static <T> Function<? super Mono<T>, ? extends Publisher<T>> doWithContext(BiConsumer<T, Context> consumer)
     {
-        return mono -> mono.flatMap(
-                t -> Mono.subscriberContext()
-                         .doOnNext(context -> consumer.accept(t, context))
-                         .map(context -> t)
-        );
+        return mapWithContext((value, context) ->
+        {
+            consumer.accept(value, context);
+            return value;
+        });
+    }
+
+    private static final class ContextMappingSubscriber<T, V> implements CoreSubscriber<T>, Subscription
+    {
+        private final CoreSubscriber<? super V> actual;
+        private final BiFunction<T, Context, V> mapper;
+
+        private Subscription subscription;
+        private boolean done;
+
+        public ContextMappingSubscriber(CoreSubscriber<? super V> actual, BiFunction<T, Context, V> mapper)
+        {
+            this.actual = actual;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription)
+        {
+            if (Operators.validate(this.subscription, subscription))
+            {
+                this.subscription = subscription;
+                actual.onSubscribe(this);
+            }
+        }
+
+        // the mapper is caller code, its failures reach the subscriber as errors
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public void onNext(T element)
+        {
+            if (done)
+            {
+                Operators.onNextDropped(element, actual.currentContext());
+                return;
+            }
+
+            V value;
+
+            try
+            {
+                value = Objects.requireNonNull(mapper.apply(element, actual.currentContext()),
+                        "The mapper returned a null value.");
+            }
+            catch (RuntimeException exception)
+            {
+                // bubbling exceptions of reactor itself still propagate
+                Exceptions.throwIfFatal(exception);
+                onError(Operators.onOperatorError(subscription, exception, element, actual.currentContext()));
+                return;
+            }
+
+            actual.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+            if (done)
+            {
+                Operators.onErrorDropped(throwable, actual.currentContext());
+                return;
+            }
+
+            done = true;
+            actual.onError(throwable);
+        }
+
+        @Override
+        public void onComplete()
+        {
+            if (done)
+            {
+                return;
+            }
+
+            done = true;
+            actual.onComplete();
+        }
+
+        @Override
+        public Context currentContext()
+        {
+            return actual.currentContext();
+        }
+
+        @Override
+        public void request(long demand)
+        {
+            subscription.request(demand);
+        }
+
+        @Override
+        public void cancel()
+        {
+            subscription.cancel();
+        }
     }
 }
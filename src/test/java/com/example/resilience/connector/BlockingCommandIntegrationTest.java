@@ -1,14 +1,19 @@
 package com.example.resilience.connector;
 
+import com.example.resilience.connector.command.BlockingCommandScheduler;
+import com.example.resilience.connector.command.BlockingSchedulerSaturatedException;
 import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.configuration.BlockingSchedulerConfiguration;
 import com.example.resilience.connector.configuration.EndpointConfiguration;
 import com.example.resilience.connector.model.CommandDescriptor;
 import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.pipeline.EndpointPipelineRegistry;
 import com.example.resilience.connector.testcommands.BlockingErrorTestCommand;
 import com.example.resilience.connector.testcommands.BlockingTestCommand;
 import com.example.resilience.connector.testcommands.TestCommandException;
 import io.github.resilience4j.bulkhead.BulkheadFullException;
 import org.assertj.core.api.Condition;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.testng.annotations.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -26,6 +31,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class BlockingCommandIntegrationTest extends BaseConnectorIntegrationTest
 {
+    @Autowired
+    private EndpointPipelineRegistry endpointPipelineRegistry;
+
     @Test
     public void shouldReturnSuccessWhenBlockingCommandExecuted()
     {
@@ -42,6 +50,27 @@ public class BlockingCommandIntegrationTest extends BaseConnectorIntegrationTest
                     .verifyComplete();
     }
 
+    @Test
+    public void shouldRunBlockingCommandAssembledBeforePipelineWasReplaced()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().withBulkhead(5).build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withBulkhead(7)
+                .build();
+        Mono<String> assembledResult = whenExecute(givenBlockingCommandWithSuccess(Duration.ofMillis(50)),
+                endpointConfiguration).map(Result::getResponse);
+
+        // act
+        whenExecute(givenBlockingCommandWithSuccess(Duration.ofMillis(50)), changedConfiguration).block();
+
+        // assert
+        StepVerifier.create(assembledResult)
+                    .expectNext(BlockingTestCommand.RESPONSE)
+                    .verifyComplete();
+    }
+
     @Test
     public void shouldReturnSuccessForMultipleBlockingCommands()
     {
@@ -130,6 +159,58 @@ public class BlockingCommandIntegrationTest extends BaseConnectorIntegrationTest
                                    .haveExactly(4, successCondition);
     }
 
+    @Test
+    public void shouldRejectBlockingCommandsWhenSchedulerIsSaturated()
+    {
+        // arrange
+        List<ICommand> commands = givenBlockingCommandsWithSuccess(3, Duration.ofMillis(200));
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withBlockingSchedulerConfiguration(new BlockingSchedulerConfiguration(1, 0, false))
+                .build();
+
+        Set<CommandDescriptor<String>> commandDescriptors = createDescriptors(commands, endpointConfiguration);
+
+        // act
+        List<Result<String>> blockingResults = connector.executeBlocking(commandDescriptors);
+
+        // assert
+        Condition<Result<String>> successCondition = new Condition<>(
+                result -> BlockingTestCommand.RESPONSE.equals(result.getResponse()),
+                "Should be result with success response.");
+
+        Condition<Result<String>> saturatedCondition = new Condition<>(
+                result -> result.getThrowable() instanceof BlockingSchedulerSaturatedException,
+                "Should be result with saturated scheduler exception.");
+
+        assertThat(blockingResults).hasSize(3)
+                                   .haveExactly(1, successCondition)
+                                   .haveExactly(2, saturatedCondition);
+    }
+
+    @Test
+    public void shouldRunBlockingCommandsInVirtualThreadModeOrFallBack()
+    {
+        // arrange
+        List<ICommand> commands = givenBlockingCommandsWithSuccess(5, Duration.ofMillis(200));
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withBlockingSchedulerConfiguration(new BlockingSchedulerConfiguration(0, 0, true))
+                .build();
+
+        Set<CommandDescriptor<String>> commandDescriptors = createDescriptors(commands, endpointConfiguration);
+
+        // act
+        List<Result<String>> blockingResults = connector.executeBlocking(commandDescriptors);
+
+        // assert
+        assertThat(blockingResults).extracting(Result::getResponse)
+                                   .containsOnly(BlockingTestCommand.RESPONSE)
+                                   .hasSize(5);
+        assertThat(endpointPipelineRegistry.pipeline(endpointConfiguration)
+                                           .getBlockingCommandScheduler()
+                                           .isVirtualThreads())
+                .isEqualTo(BlockingCommandScheduler.isVirtualThreadSupported());
+    }
+
     private List<ICommand> givenBlockingCommandsWithSuccess(int n, Duration duration)
     {
         return IntStream.rangeClosed(1, n)
@@ -1,22 +1,70 @@
 package com.example.resilience.connector;
 
+import com.example.resilience.connector.cache.CacheGuard;
+import com.example.resilience.connector.cache.CacheValueCodec;
+import com.example.resilience.connector.cache.CacheWriteBehindQueue;
 import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.configuration.CacheCompressionConfiguration;
+import com.example.resilience.connector.configuration.CacheGuardConfiguration;
+import com.example.resilience.connector.configuration.CacheTtlConfiguration;
+import com.example.resilience.connector.configuration.CacheWriteBehindConfiguration;
 import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.NearCacheConfiguration;
+import com.example.resilience.connector.configuration.WriteBehindDropPolicy;
 import com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder;
 import com.example.resilience.connector.model.CacheKey;
 import com.example.resilience.connector.model.CommandDescriptor;
 import com.example.resilience.connector.model.CommandDescriptorBuilder;
 import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.pipeline.EndpointPipelineRegistry;
+import com.example.resilience.connector.pipeline.ReplaceableCircuitBreakerRegistry;
+import com.example.resilience.connector.template.RedisTemplateRegistry;
+import com.example.resilience.connector.testcommands.ErrorTestCommand;
+import com.example.resilience.connector.testcommands.LargeResponseTestCommand;
 import com.example.resilience.connector.testcommands.SimpleTestCommand;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.awaitility.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
 public class CacheDecoratorIntegrationTest extends BaseConnectorIntegrationTest
 {
     private static final String CACHE_RESPONSE = "cache_response";
+    private static final String UPDATED_CACHE_RESPONSE = "updated_cache_response";
+    private static final NearCacheConfiguration NEAR_CACHE_CONFIGURATION =
+            new NearCacheConfiguration(true, 100, java.time.Duration.ofMinutes(1));
+    private static final CacheTtlConfiguration STALE_IF_ERROR_CONFIGURATION =
+            new CacheTtlConfiguration(java.time.Duration.ofSeconds(1), java.time.Duration.ofSeconds(10), null, true);
+    private static final CacheTtlConfiguration STALE_WHILE_REVALIDATE_CONFIGURATION = new CacheTtlConfiguration(
+            java.time.Duration.ofSeconds(1), java.time.Duration.ofSeconds(10), java.time.Duration.ofSeconds(8), false);
+    private static final CacheTtlConfiguration HARD_TTL_CONFIGURATION =
+            new CacheTtlConfiguration(null, java.time.Duration.ofSeconds(30), null, false);
+    private static final CacheCompressionConfiguration COMPRESSION_CONFIGURATION =
+            new CacheCompressionConfiguration(true, 256);
+    private static final CacheValueCodec VALUE_CODEC =
+            new CacheValueCodec(new CacheCompressionConfiguration(false, 0), true);
+    private static final CacheWriteBehindConfiguration WRITE_BEHIND_CONFIGURATION = new CacheWriteBehindConfiguration(
+            true, 100, 10, java.time.Duration.ofMillis(50), WriteBehindDropPolicy.DROP_OLDEST);
+    private static final CacheGuardConfiguration CACHE_GUARD_CONFIGURATION = new CacheGuardConfiguration(true, 2,
+            java.time.Duration.ofMinutes(1), 99, 3, java.time.Duration.ofMillis(10), java.time.Duration.ofMillis(200));
+
+    @Autowired
+    private RedisTemplateRegistry redisTemplateRegistry;
+
+    @Autowired
+    private EndpointPipelineRegistry endpointPipelineRegistry;
+
+    @Autowired
+    private ReplaceableCircuitBreakerRegistry circuitBreakerRegistry;
 
     @Test
     public void shouldGetFromCacheCorrectly()
@@ -44,6 +92,223 @@ public class CacheDecoratorIntegrationTest extends BaseConnectorIntegrationTest
         thenCacheContains(command.generateCacheKey(), SimpleTestCommand.RESPONSE);
     }
 
+    @Test
+    public void shouldServeRepeatedCallFromNearCache()
+    {
+        ICommand command = givenCommand();
+        EndpointConfiguration configuration = givenConfigurationWithEnabledNearCache();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        givenEntryInRedis(command.generateCacheKey(), CACHE_RESPONSE);
+
+        whenExecuteBlocking(commandDescriptor);
+        givenEntryInRedis(command.generateCacheKey(), UPDATED_CACHE_RESPONSE);
+        Result<String> actualResult = whenExecuteBlocking(commandDescriptor);
+
+        thenResponseIs(actualResult, CACHE_RESPONSE);
+    }
+
+    @Test
+    public void shouldServeStaleEntryWhenCallFails()
+    {
+        ICommand command = new ErrorTestCommand();
+        EndpointConfiguration configuration = givenConfigurationWithStaleIfError();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        givenSoftExpiredEntryInRedis(command.generateCacheKey(), CACHE_RESPONSE);
+
+        Result<String> actualResult = whenExecuteBlocking(commandDescriptor);
+
+        thenResponseIs(actualResult, CACHE_RESPONSE);
+        assertThat(actualResult.isStale()).isTrue();
+    }
+
+    @Test
+    public void shouldServeEntryWithinSoftTimeToLiveWithoutCall()
+    {
+        ICommand command = new ErrorTestCommand();
+        EndpointConfiguration configuration = givenConfigurationWithStaleIfError();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        givenTimestampedEntryInRedis(command.generateCacheKey(), CACHE_RESPONSE, System.currentTimeMillis());
+
+        Result<String> actualResult = whenExecuteBlocking(commandDescriptor);
+
+        thenResponseIs(actualResult, CACHE_RESPONSE);
+        assertThat(actualResult.isStale()).isFalse();
+    }
+
+    @Test
+    public void shouldRefreshSoftExpiredEntryWhenCallSucceeds()
+    {
+        ICommand command = givenCommand();
+        EndpointConfiguration configuration = givenConfigurationWithStaleIfError();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        givenSoftExpiredEntryInRedis(command.generateCacheKey(), CACHE_RESPONSE);
+
+        Result<String> actualResult = whenExecuteBlocking(commandDescriptor);
+
+        thenResponseIs(actualResult, SimpleTestCommand.RESPONSE);
+        assertThat(actualResult.isStale()).isFalse();
+        thenCacheContains(command.generateCacheKey(), SimpleTestCommand.RESPONSE);
+    }
+
+    @Test
+    public void shouldServeStaleEntryAndRefreshInBackground()
+    {
+        ICommand command = givenCommand();
+        EndpointConfiguration configuration = givenConfigurationWithCacheTtl(STALE_WHILE_REVALIDATE_CONFIGURATION);
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        givenSoftExpiredEntryInRedis(command.generateCacheKey(), CACHE_RESPONSE);
+
+        Result<String> actualResult = whenExecuteBlocking(commandDescriptor);
+
+        thenResponseIs(actualResult, CACHE_RESPONSE);
+        assertThat(actualResult.isStale()).isTrue();
+        thenCacheContains(command.generateCacheKey(), SimpleTestCommand.RESPONSE);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectHardTimeToLiveEndingInsideStaleWindow()
+    {
+        new CacheTtlConfiguration(java.time.Duration.ofSeconds(1), java.time.Duration.ofSeconds(5),
+                java.time.Duration.ofSeconds(8), false);
+    }
+
+    @Test
+    public void shouldWriteCacheEntryWithHardTimeToLive()
+    {
+        ICommand command = givenCommand();
+        EndpointConfiguration configuration = givenConfigurationWithCacheTtl(HARD_TTL_CONFIGURATION);
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+
+        whenExecuteBlocking(commandDescriptor);
+
+        thenCacheContains(command.generateCacheKey(), SimpleTestCommand.RESPONSE);
+        assertThat(redisTemplate.getExpire(command.generateCacheKey().getValue()).block())
+                .isBetween(java.time.Duration.ofSeconds(1), java.time.Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void shouldBatchCacheLookupsOfCommandCollection()
+    {
+        ICommand cachedCommand = new SimpleTestCommand(41);
+        ICommand missingCommand = new SimpleTestCommand(42);
+        EndpointConfiguration configuration = givenConfigurationWithEnabledCache();
+        givenEntryInRedis(cachedCommand.generateCacheKey(), CACHE_RESPONSE);
+        givenNoEntryInRedis(missingCommand.generateCacheKey());
+
+        List<Result<String>> actualResults = connector.executeBlocking(
+                Arrays.asList(givenCommandDescriptor(cachedCommand, configuration),
+                        givenCommandDescriptor(missingCommand, configuration)));
+
+        assertThat(actualResults).extracting(Result::getResponse)
+                                 .containsExactlyInAnyOrder(CACHE_RESPONSE, SimpleTestCommand.RESPONSE);
+        assertThat(actualResults).filteredOn(Result::isFromCache)
+                                 .extracting(Result::getResponse)
+                                 .containsExactly(CACHE_RESPONSE);
+        thenCacheContains(missingCommand.generateCacheKey(), SimpleTestCommand.RESPONSE);
+    }
+
+    @Test
+    public void shouldWriteCacheEntriesThroughWriteBehindQueue()
+    {
+        ICommand command = new SimpleTestCommand(43);
+        EndpointConfiguration configuration = EndpointConfigurationBuilder.aTestEndpointConfiguration()
+                                                                          .withCacheEnabled(true)
+                                                                          .withCachePort(getMappedRedisPort())
+                                                                          .withCacheWriteBehindConfiguration(
+                                                                                  WRITE_BEHIND_CONFIGURATION)
+                                                                          .build();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        givenNoEntryInRedis(command.generateCacheKey());
+
+        whenExecuteBlocking(commandDescriptor);
+
+        thenCacheContains(command.generateCacheKey(), SimpleTestCommand.RESPONSE);
+        CacheWriteBehindQueue writeBehindQueue =
+                endpointPipelineRegistry.pipeline(configuration).getEndpointCache().getWriteBehindQueue();
+        await().atMost(Duration.FIVE_SECONDS)
+               .untilAsserted(() -> assertThat(writeBehindQueue.getFlushedCount()).isEqualTo(1));
+        assertThat(writeBehindQueue.getQueuedCount()).isEqualTo(1);
+        assertThat(writeBehindQueue.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void shouldCompressLargeCacheEntries()
+    {
+        ICommand command = new LargeResponseTestCommand(44, 200);
+        EndpointConfiguration configuration = EndpointConfigurationBuilder.aTestEndpointConfiguration()
+                                                                          .withCacheEnabled(true)
+                                                                          .withCachePort(getMappedRedisPort())
+                                                                          .withCacheCompressionConfiguration(
+                                                                                  COMPRESSION_CONFIGURATION)
+                                                                          .build();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        givenNoEntryInRedis(command.generateCacheKey());
+
+        whenExecuteBlocking(commandDescriptor);
+        await().atMost(Duration.FIVE_SECONDS)
+               .untilAsserted(() -> assertThat(redisTemplate.opsForValue()
+                                                            .get(command.generateCacheKey().getValue())
+                                                            .block()).startsWith("\u0003"));
+        Result<String> actualResult = whenExecuteBlocking(commandDescriptor);
+
+        assertThat(actualResult.isFromCache()).isTrue();
+        thenResponseIs(actualResult, LargeResponseTestCommand.response(200));
+        CacheValueCodec valueCodec =
+                endpointPipelineRegistry.pipeline(configuration).getEndpointCache().getValueCodec();
+        assertThat(valueCodec.getCompressionRatio()).isLessThan(0.5);
+    }
+
+    @Test
+    public void shouldTreatEntryInflatingBeyondLimitAsMiss()
+    {
+        ICommand command = givenCommand();
+        EndpointConfiguration configuration = givenConfigurationWithEnabledCache();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+        // a deflate header announcing 2 GB, nothing is inflated or allocated for it
+        givenBinaryEntryInRedis(command.generateCacheKey(), new byte[] {0x03, 0x7f, -1, -1, -1, 0x01, 0x02});
+
+        Result<String> actualResult = whenExecuteBlocking(commandDescriptor);
+
+        assertThat(actualResult.isFromCache()).isFalse();
+        thenResponseIs(actualResult, SimpleTestCommand.RESPONSE);
+        thenCacheContains(command.generateCacheKey(), SimpleTestCommand.RESPONSE);
+    }
+
+    @Test
+    public void shouldBypassUnreachableCacheOnceItsCircuitIsOpen() throws IOException
+    {
+        ICommand command = givenCommand();
+        EndpointConfiguration configuration = EndpointConfigurationBuilder.aTestEndpointConfiguration()
+                                                                          .withCacheEnabled(true)
+                                                                          .withCachePort(givenUnusedPort())
+                                                                          .withCacheGuardConfiguration(
+                                                                                  CACHE_GUARD_CONFIGURATION)
+                                                                          .build();
+        CommandDescriptor<String> commandDescriptor = givenCommandDescriptor(command, configuration);
+
+        List<Result<String>> actualResults = Arrays.asList(whenExecuteBlocking(commandDescriptor),
+                whenExecuteBlocking(commandDescriptor), whenExecuteBlocking(commandDescriptor),
+                whenExecuteBlocking(commandDescriptor));
+
+        CacheGuard cacheGuard = endpointPipelineRegistry.pipeline(configuration).getEndpointCache().getGuard();
+        assertThat(actualResults).extracting(Result::getResponse).containsOnly(SimpleTestCommand.RESPONSE);
+        assertThat(cacheGuard.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(cacheGuard.getBypassedCount()).isGreaterThanOrEqualTo(2);
+        assertThat(circuitBreakerRegistry.getAllCircuitBreakers()).contains(cacheGuard.getCircuitBreaker());
+    }
+
+    @Test
+    public void shouldShareRedisTemplateForSameHostAndPort()
+    {
+        ReactiveRedisTemplate<String, String> first = redisTemplateRegistry.redisTemplate("localhost",
+                getMappedRedisPort());
+
+        ReactiveRedisTemplate<String, String> second = redisTemplateRegistry.redisTemplate("localhost",
+                getMappedRedisPort());
+
+        assertThat(second).isSameAs(first);
+    }
+
     private CommandDescriptor<String> givenCommandDescriptor(ICommand command, EndpointConfiguration configuration)
     {
         return CommandDescriptorBuilder.aCommandDescriptorWithStringResult()
@@ -65,6 +330,61 @@ public class CacheDecoratorIntegrationTest extends BaseConnectorIntegrationTest
                                            .build();
     }
 
+    private EndpointConfiguration givenConfigurationWithEnabledNearCache()
+    {
+        return EndpointConfigurationBuilder.aTestEndpointConfiguration()
+                                           .withCacheEnabled(true)
+                                           .withCachePort(getMappedRedisPort())
+                                           .withNearCacheConfiguration(NEAR_CACHE_CONFIGURATION)
+                                           .build();
+    }
+
+    private EndpointConfiguration givenConfigurationWithStaleIfError()
+    {
+        return givenConfigurationWithCacheTtl(STALE_IF_ERROR_CONFIGURATION);
+    }
+
+    private EndpointConfiguration givenConfigurationWithCacheTtl(CacheTtlConfiguration cacheTtlConfiguration)
+    {
+        return EndpointConfigurationBuilder.aTestEndpointConfiguration()
+                                           .withCacheEnabled(true)
+                                           .withCachePort(getMappedRedisPort())
+                                           .withCacheTtlConfiguration(cacheTtlConfiguration)
+                                           .build();
+    }
+
+    private int givenUnusedPort() throws IOException
+    {
+        try (ServerSocket serverSocket = new ServerSocket(0))
+        {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    private void givenSoftExpiredEntryInRedis(CacheKey key, String value)
+    {
+        // written 5 seconds ago, past the 1 second soft ttl
+        givenTimestampedEntryInRedis(key, value, System.currentTimeMillis() - 5000);
+    }
+
+    private void givenTimestampedEntryInRedis(CacheKey key, String value, long writtenAtMillis)
+    {
+        binaryRedisTemplate().opsForValue()
+                             .set(key.getValue(), VALUE_CODEC.encode(value, writtenAtMillis),
+                                     java.time.Duration.ofSeconds(10))
+                             .block();
+    }
+
+    private void givenBinaryEntryInRedis(CacheKey key, byte[] value)
+    {
+        binaryRedisTemplate().opsForValue().set(key.getValue(), value).block();
+    }
+
+    private void givenNoEntryInRedis(CacheKey key)
+    {
+        redisTemplate.delete(key.getValue()).block();
+    }
+
     private void givenEntryInRedis(CacheKey key, String value)
     {
         redisTemplate.opsForValue().set(key.getValue(), value).block();
@@ -79,7 +399,13 @@ public class CacheDecoratorIntegrationTest extends BaseConnectorIntegrationTest
     {
         await().atMost(Duration.FIVE_SECONDS)
                .untilAsserted(
-                       () -> assertThat(redisTemplate.opsForValue().get(expectedKey.getValue()).block()).isEqualTo(
-                               expectedValue));
+                       () -> assertThat(VALUE_CODEC.decode(binaryRedisTemplate().opsForValue()
+                                                                                .get(expectedKey.getValue())
+                                                                                .block())).isEqualTo(expectedValue));
+    }
+
+    private ReactiveRedisTemplate<String, byte[]> binaryRedisTemplate()
+    {
+        return redisTemplateRegistry.binaryRedisTemplate("localhost", getMappedRedisPort());
     }
 }
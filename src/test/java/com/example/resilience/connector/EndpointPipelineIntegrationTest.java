@@ -0,0 +1,224 @@
+package com.example.resilience.connector;
+
+import com.example.resilience.connector.configuration.AdaptiveConcurrencyConfiguration;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.RateLimitConfiguration;
+import com.example.resilience.connector.configuration.RetryBudgetConfiguration;
+import com.example.resilience.connector.pipeline.EndpointPipeline;
+import com.example.resilience.connector.pipeline.EndpointPipelineRegistry;
+import com.example.resilience.connector.pipeline.ReplaceableCircuitBreakerRegistry;
+import com.example.resilience.connector.pipeline.ReplaceableRateLimiterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.aTestEndpointConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EndpointPipelineIntegrationTest extends BaseConnectorIntegrationTest
+{
+    @Autowired
+    private EndpointPipelineRegistry endpointPipelineRegistry;
+
+    @Autowired
+    private ReplaceableCircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private ReplaceableRateLimiterRegistry rateLimiterRegistry;
+
+    @Test
+    public void shouldReusePipelineForSameConfiguration()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+
+        // act
+        EndpointPipeline first = endpointPipelineRegistry.pipeline(endpointConfiguration);
+        EndpointPipeline second = endpointPipelineRegistry.pipeline(endpointConfiguration);
+
+        // assert
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void shouldRebuildPipelineWhenConfigurationChanges()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().withBulkhead(5).build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withBulkhead(7)
+                .build();
+
+        // act
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(changedConfiguration);
+
+        // assert
+        assertThat(rebuilt).isNotSameAs(original);
+        assertThat(rebuilt.getPolicies().getBulkhead().getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(7);
+    }
+
+    @Test
+    public void shouldRebuildPipelineAfterInvalidation()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+
+        // act
+        endpointPipelineRegistry.invalidate(endpointConfiguration.getName());
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(endpointConfiguration);
+
+        // assert
+        assertThat(rebuilt).isNotSameAs(original);
+    }
+
+    @Test
+    public void shouldDisposeReplacedPipeline()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().withBulkhead(5).build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withBulkhead(7)
+                .build();
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+
+        // act
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(changedConfiguration);
+
+        // assert
+        assertThat(original.isDisposed()).isTrue();
+        assertThat(original.getBlockingCommandScheduler().isDisposed()).isTrue();
+        assertThat(rebuilt.isDisposed()).isFalse();
+    }
+
+    @Test
+    public void shouldDisposeInvalidatedPipeline()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+
+        // act
+        endpointPipelineRegistry.invalidate(endpointConfiguration.getName());
+
+        // assert
+        assertThat(original.isDisposed()).isTrue();
+    }
+
+    @Test
+    public void shouldKeepCircuitBreakerWhenOnlyBulkheadChanges()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().withBulkhead(5).build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withBulkhead(7)
+                .build();
+
+        // act
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(changedConfiguration);
+
+        // assert
+        assertThat(rebuilt.getPolicies().getCircuitBreaker()).isSameAs(original.getPolicies().getCircuitBreaker());
+    }
+
+    @Test
+    public void shouldKeepLearnedPoliciesWhenTimeoutAlternates()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withAdaptiveConcurrencyConfiguration(new AdaptiveConcurrencyConfiguration(true, 10, 1, 50))
+                .withRetryBudgetConfiguration(new RetryBudgetConfiguration(true, 0.1, 10))
+                .withTimeout(Duration.ofSeconds(1))
+                .build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withAdaptiveConcurrencyConfiguration(new AdaptiveConcurrencyConfiguration(true, 10, 1, 50))
+                .withRetryBudgetConfiguration(new RetryBudgetConfiguration(true, 0.1, 10))
+                .withTimeout(Duration.ofSeconds(2))
+                .build();
+
+        // act
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+        endpointPipelineRegistry.pipeline(changedConfiguration);
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(endpointConfiguration);
+
+        // assert
+        assertThat(rebuilt).isNotSameAs(original);
+        assertThat(rebuilt.getPolicies().getConcurrencyLimiter())
+                .isSameAs(original.getPolicies().getConcurrencyLimiter());
+        assertThat(rebuilt.getPolicies().getRetryBudget()).isSameAs(original.getPolicies().getRetryBudget());
+    }
+
+    @Test
+    public void shouldReplaceRegisteredCircuitBreakerWhenRingBufferChanges()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withCircuitBreakerBufferSize(20)
+                .build();
+
+        // act
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(changedConfiguration);
+
+        // assert
+        assertThat(rebuilt.getPolicies().getCircuitBreaker()).isNotSameAs(original.getPolicies().getCircuitBreaker());
+        assertThat(rebuilt.getPolicies().getCircuitBreaker().getCircuitBreakerConfig().getRingBufferSizeInClosedState())
+                .isEqualTo(20);
+        assertThat(circuitBreakerRegistry.circuitBreaker(endpointConfiguration.getName()))
+                .isSameAs(rebuilt.getPolicies().getCircuitBreaker());
+    }
+
+    @Test
+    public void shouldReplaceRegisteredRateLimiterWhenRefreshPeriodChanges()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withRateLimitConfiguration(new RateLimitConfiguration(true, Duration.ofSeconds(1), 5))
+                .build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withRateLimitConfiguration(new RateLimitConfiguration(true, Duration.ofSeconds(2), 5))
+                .build();
+
+        // act
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(changedConfiguration);
+
+        // assert
+        assertThat(rebuilt.getPolicies().getRateLimiter()).isNotSameAs(original.getPolicies().getRateLimiter());
+        assertThat(rebuilt.getPolicies().getRateLimiter().getRateLimiterConfig().getLimitRefreshPeriod())
+                .isEqualTo(Duration.ofSeconds(2));
+        assertThat(rateLimiterRegistry.rateLimiter(endpointConfiguration.getName()))
+                .isSameAs(rebuilt.getPolicies().getRateLimiter());
+    }
+
+    @Test
+    public void shouldChangeRegisteredRateLimiterInPlaceWhenLimitChanges()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withRateLimitConfiguration(new RateLimitConfiguration(true, Duration.ofSeconds(1), 5))
+                .build();
+        EndpointConfiguration changedConfiguration = aTestEndpointConfiguration()
+                .withName(endpointConfiguration.getName())
+                .withRateLimitConfiguration(new RateLimitConfiguration(true, Duration.ofSeconds(1), 8))
+                .build();
+
+        // act
+        EndpointPipeline original = endpointPipelineRegistry.pipeline(endpointConfiguration);
+        EndpointPipeline rebuilt = endpointPipelineRegistry.pipeline(changedConfiguration);
+
+        // assert
+        assertThat(rebuilt.getPolicies().getRateLimiter()).isSameAs(original.getPolicies().getRateLimiter());
+        assertThat(rebuilt.getPolicies().getRateLimiter().getRateLimiterConfig().getLimitForPeriod()).isEqualTo(8);
+    }
+}
@@ -4,17 +4,37 @@ import com.example.resilience.connector.command.ICommand;
 import com.example.resilience.connector.command.http.HttpCommand;
 import com.example.resilience.connector.command.http.HttpCommandException;
 import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.HttpClientConfiguration;
+import com.example.resilience.connector.configuration.LoadBalancingConfiguration;
+import com.example.resilience.connector.loadbalancing.InstanceBalancer;
 import com.example.resilience.connector.model.CommandDescriptor;
 import com.example.resilience.connector.model.CommandDescriptorBuilder;
 import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.pipeline.EndpointPipelineRegistry;
+import com.example.resilience.connector.pipeline.ReplaceableCircuitBreakerRegistry;
+import com.example.resilience.connector.serialization.Deserializer;
+import com.example.resilience.connector.serialization.JsonDeserializer;
+import com.example.resilience.connector.serialization.ResponseSizeLimitException;
+import com.example.resilience.connector.serialization.TokenBufferJsonDeserializer;
+import com.example.resilience.connector.template.ConnectionPoolExhaustedException;
+import com.example.resilience.connector.template.WebClientRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
 import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.aTestEndpointConfiguration;
 import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.responseDefinition;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
@@ -23,9 +43,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class HttpCommandIntegrationTest extends BaseConnectorIntegrationTest
 {
     private static final String HTTP_RESPONSE_BODY = "HTTP response body";
+    private static final String JSON_RESPONSE_BODY = "{\"name\":\"connector\",\"version\":3}";
+    private static final String LATIN_1_RESPONSE_BODY = "Gr\u00fc\u00dfe aus K\u00f6ln";
     private static final WebClient WEB_CLIENT = WebClient.create();
 
+    @Autowired
+    private WebClientRegistry webClientRegistry;
+
+    @Autowired
+    private EndpointPipelineRegistry endpointPipelineRegistry;
+
+    @Autowired
+    private ReplaceableCircuitBreakerRegistry circuitBreakerRegistry;
+
     private WireMockServer wireMockServer;
+    private WireMockServer failingWireMockServer;
 
     @BeforeClass
     public void beforeClass()
@@ -33,15 +65,24 @@ public class HttpCommandIntegrationTest extends BaseConnectorIntegrationTest
         wireMockServer = new WireMockServer(6060);
 
         wireMockServer.stubFor(get("/ok").willReturn(responseDefinition().withBody(HTTP_RESPONSE_BODY)));
-        wireMockServer.stubFor(get("/error").willReturn(responseDefinition().withStatus(500)));
+        wireMockServer.stubFor(get("/json").willReturn(responseDefinition().withBody(JSON_RESPONSE_BODY)));
+        wireMockServer.stubFor(get("/latin1").willReturn(responseDefinition()
+                .withHeader("Content-Type", "text/plain; charset=ISO-8859-1")
+                .withBody(LATIN_1_RESPONSE_BODY.getBytes(StandardCharsets.ISO_8859_1))));
+        wireMockServer.stubFor(get("/error").willReturn(responseDefinition().withStatus(500).withBody("Server error")));
 
         wireMockServer.start();
+
+        failingWireMockServer = new WireMockServer(6061);
+        failingWireMockServer.stubFor(get("/ok").willReturn(responseDefinition().withStatus(500)));
+        failingWireMockServer.start();
     }
 
     @AfterClass
     public void afterClass()
     {
         wireMockServer.stop();
+        failingWireMockServer.stop();
     }
 
     @Test
@@ -60,6 +101,157 @@ public class HttpCommandIntegrationTest extends BaseConnectorIntegrationTest
                     .verifyComplete();
     }
 
+    @Test
+    public void shouldDecodeResponseWithItsDeclaredCharset()
+    {
+        // arrange
+        ICommand httpCommand = givenHttpCommand("http://localhost:6060/latin1");
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+
+        //act
+        Mono<String> result = whenExecute(httpCommand, endpointConfiguration).map(Result::getResponse);
+
+        // assert
+        StepVerifier.create(result)
+                    .expectNext(LATIN_1_RESPONSE_BODY)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldDeserializeJsonResponseFromBytes()
+    {
+        // arrange
+        ICommand httpCommand = givenHttpCommand("http://localhost:6060/json");
+        CommandDescriptor<JsonNode> commandDescriptor = givenJsonCommandDescriptor(httpCommand,
+                new JsonDeserializer<>(new ObjectMapper(), JsonNode.class));
+
+        //act
+        Mono<Result<JsonNode>> monoResult = connector.execute(commandDescriptor);
+
+        // assert
+        StepVerifier.create(monoResult)
+                    .assertNext(result ->
+                    {
+                        assertThat(result.hasRawBytes()).isTrue();
+                        assertThat(result.getResponse().get("name").asText()).isEqualTo("connector");
+                        assertThat(result.getResponse().get("version").asInt()).isEqualTo(3);
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldStreamJsonResponseIntoDeserializer()
+    {
+        // arrange
+        ICommand httpCommand = givenHttpCommand("http://localhost:6060/json");
+        CommandDescriptor<JsonNode> commandDescriptor = givenJsonCommandDescriptor(httpCommand,
+                new TokenBufferJsonDeserializer<>(new ObjectMapper(), JsonNode.class, 1024));
+
+        //act
+        Mono<Result<JsonNode>> monoResult = connector.execute(commandDescriptor);
+
+        // assert
+        StepVerifier.create(monoResult)
+                    .assertNext(result ->
+                    {
+                        assertThat(result.isDeserialized()).isTrue();
+                        assertThat(result.getResponse().get("name").asText()).isEqualTo("connector");
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldReturnAResultWithExceptionWhenStreamedResponseExceedsLimit()
+    {
+        // arrange
+        ICommand httpCommand = givenHttpCommand("http://localhost:6060/json");
+        CommandDescriptor<JsonNode> commandDescriptor = givenJsonCommandDescriptor(httpCommand,
+                new TokenBufferJsonDeserializer<>(new ObjectMapper(), JsonNode.class, 10));
+
+        //act
+        Mono<Result<JsonNode>> monoResult = connector.execute(commandDescriptor);
+
+        // assert
+        StepVerifier.create(monoResult)
+                    .assertNext(result -> assertThat(result.getThrowable()).isInstanceOf(
+                            ResponseSizeLimitException.class))
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldExecuteThroughPooledEndpointWebClient()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+        ICommand httpCommand = new HttpCommand(webClientRegistry.webClient(endpointConfiguration),
+                "http://localhost:6060/ok");
+
+        //act
+        Mono<String> result = whenExecute(httpCommand, endpointConfiguration).map(Result::getResponse);
+
+        // assert
+        StepVerifier.create(result)
+                    .expectNext(HTTP_RESPONSE_BODY)
+                    .verifyComplete();
+        assertThat(webClientRegistry.webClient(endpointConfiguration))
+                .isSameAs(webClientRegistry.webClient(endpointConfiguration));
+        assertThat(webClientRegistry.connectionPool(endpointConfiguration.getName()).getAcquiredCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnAResultWithExceptionWhenPendingAcquireLimitIsReached()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withHttpClientConfiguration(new HttpClientConfiguration(1, 0, Duration.ofSeconds(1),
+                        Duration.ofSeconds(1), null, true))
+                .build();
+        ICommand httpCommand = new HttpCommand(webClientRegistry.webClient(endpointConfiguration),
+                "http://localhost:6060/ok");
+
+        //act
+        Mono<Result<String>> monoResult = whenExecute(httpCommand, endpointConfiguration);
+
+        // assert
+        StepVerifier.create(monoResult)
+                    .assertNext(result -> assertThat(result.getThrowable()).isInstanceOf(
+                            ConnectionPoolExhaustedException.class))
+                    .verifyComplete();
+        assertThat(webClientRegistry.connectionPool(endpointConfiguration.getName()).getRejectedCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void shouldEjectFailingInstanceOfLoadBalancedEndpoint()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withRetries(1)
+                .withLoadBalancingConfiguration(new LoadBalancingConfiguration(true,
+                        List.of("http://localhost:6060", "http://localhost:6061"), 10, 1, 3, Duration.ofMinutes(1),
+                        50))
+                .build();
+        ICommand httpCommand = givenHttpCommand("/ok");
+
+        //act
+        Flux<String> results = Flux.range(0, 10)
+                                   .concatMap(i -> whenExecute(httpCommand, endpointConfiguration))
+                                   .map(Result::getResponse);
+
+        // assert
+        StepVerifier.create(results)
+                    .expectNextSequence(Collections.nCopies(10, HTTP_RESPONSE_BODY))
+                    .verifyComplete();
+        InstanceBalancer instanceBalancer = endpointPipelineRegistry.pipeline(endpointConfiguration)
+                                                                    .getPolicies().getInstanceBalancer();
+        assertThat(instanceBalancer.getInstance("http://localhost:6061").isEjected()).isTrue();
+        assertThat(instanceBalancer.getInstance("http://localhost:6061").getRequestCount()).isLessThanOrEqualTo(1);
+        assertThat(instanceBalancer.getInstance("http://localhost:6060").getRequestCount()).isEqualTo(10);
+        assertThat(circuitBreakerRegistry.getAllCircuitBreakers())
+                .contains(instanceBalancer.getInstance("http://localhost:6061").getCircuitBreaker());
+    }
+
     @Test
     public void shouldReturnAResultWithExceptionWhenHttpServerRespondsWith500()
     {
@@ -76,11 +268,45 @@ public class HttpCommandIntegrationTest extends BaseConnectorIntegrationTest
                     .verifyComplete();
     }
 
+    @Test
+    public void shouldReleaseConnectionsOfErrorResponses()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withHttpClientConfiguration(new HttpClientConfiguration(2, 10, Duration.ofSeconds(1),
+                        Duration.ofSeconds(1), null, true))
+                .build();
+        WebClient webClient = webClientRegistry.webClient(endpointConfiguration);
+        ICommand failingCommand = new HttpCommand(webClient, "http://localhost:6060/error");
+        ICommand httpCommand = new HttpCommand(webClient, "http://localhost:6060/ok");
+
+        //act
+        Flux<Result<String>> failures = Flux.range(0, 10)
+                                            .concatMap(i -> whenExecute(failingCommand, endpointConfiguration));
+        Mono<String> result = failures.then(whenExecute(httpCommand, endpointConfiguration))
+                                      .map(Result::getResponse);
+
+        // assert
+        StepVerifier.create(result)
+                    .expectNext(HTTP_RESPONSE_BODY)
+                    .verifyComplete();
+    }
+
     private ICommand givenHttpCommand(String uri)
     {
         return new HttpCommand(WEB_CLIENT, uri);
     }
 
+    private CommandDescriptor<JsonNode> givenJsonCommandDescriptor(ICommand command,
+            Deserializer<JsonNode> deserializer)
+    {
+        return CommandDescriptorBuilder.<JsonNode>aCommandDescriptor()
+                                       .withDeserializer(deserializer)
+                                       .withCommand(command)
+                                       .withEndpointConfiguration(aTestEndpointConfiguration().build())
+                                       .build();
+    }
+
     private Mono<Result<String>> whenExecute(ICommand command, EndpointConfiguration endpointConfiguration)
     {
         CommandDescriptor<String> commandDescriptor = CommandDescriptorBuilder.aCommandDescriptorWithStringResult()
@@ -0,0 +1,82 @@
+package com.example.resilience.connector;
+
+import com.example.resilience.connector.configuration.AdaptiveConcurrencyConfiguration;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.metrics.CommandOutcome;
+import com.example.resilience.connector.metrics.LatencyRecorderRegistry;
+import com.example.resilience.connector.metrics.LatencySnapshot;
+import com.example.resilience.connector.model.CommandDescriptor;
+import com.example.resilience.connector.testcommands.DelayedTestCommand;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.aTestEndpointConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyMetricsIntegrationTest extends BaseConnectorIntegrationTest
+{
+    @Autowired
+    private LatencyRecorderRegistry latencyRecorderRegistry;
+
+    @Test
+    public void shouldRecordSuccessfulCommandLatency()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+        CommandDescriptor<String> descriptor =
+                createDescriptor(endpointConfiguration, new DelayedTestCommand(Duration.ofMillis(200)));
+
+        // act
+        whenExecuteConnector(descriptor).block();
+
+        // assert
+        LatencySnapshot snapshot = snapshotOf(endpointConfiguration).get(CommandOutcome.SUCCESS);
+        assertThat(snapshot.getCount()).isEqualTo(1);
+        assertThat(snapshot.getMaxNanos()).isBetween(Duration.ofMillis(190).toNanos(), Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    public void shouldRecordTimedOutCommandSeparately()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withTimeout(Duration.ofMillis(100))
+                .build();
+        CommandDescriptor<String> descriptor =
+                createDescriptor(endpointConfiguration, new DelayedTestCommand(Duration.ofSeconds(1)));
+
+        // act
+        whenExecuteConnector(descriptor).block();
+
+        // assert
+        Map<CommandOutcome, LatencySnapshot> snapshot = snapshotOf(endpointConfiguration);
+        assertThat(snapshot.get(CommandOutcome.TIMEOUT).getCount()).isEqualTo(1);
+        assertThat(snapshot.get(CommandOutcome.SUCCESS).getCount()).isZero();
+    }
+
+    @Test
+    public void shouldExposeAdaptiveConcurrencyLimit()
+    {
+        // arrange
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withAdaptiveConcurrencyConfiguration(new AdaptiveConcurrencyConfiguration(true, 7, 1, 10))
+                .build();
+        CommandDescriptor<String> descriptor =
+                createDescriptor(endpointConfiguration, new DelayedTestCommand(Duration.ofMillis(10)));
+
+        // act
+        whenExecuteConnector(descriptor).block();
+
+        // assert
+        assertThat(latencyRecorderRegistry.concurrencyLimits().get(endpointConfiguration.getName()))
+                .isBetween(1, 10);
+    }
+
+    private Map<CommandOutcome, LatencySnapshot> snapshotOf(EndpointConfiguration endpointConfiguration)
+    {
+        return latencyRecorderRegistry.snapshot().get(endpointConfiguration.getName());
+    }
+}
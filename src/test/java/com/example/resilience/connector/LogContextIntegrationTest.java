@@ -0,0 +1,86 @@
+package com.example.resilience.connector;
+
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.logging.LogContext;
+import com.example.resilience.connector.model.CommandDescriptor;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.testcommands.SimpleTestCommand;
+import org.testng.annotations.Test;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.aTestEndpointConfiguration;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogContextIntegrationTest extends BaseConnectorIntegrationTest
+{
+    @Test
+    public void shouldCollectEveryResultOfFanOut()
+    {
+        // arrange
+        LogContext logContext = LogContext.create();
+        Set<CommandDescriptor<String>> descriptors = givenDescriptors(1000);
+
+        // act
+        whenExecuteWithLogContext(descriptors, logContext);
+
+        // assert
+        assertThat(logContext.getResults()).hasSize(1000);
+        assertThat(logContext.getOverflowCount()).isZero();
+    }
+
+    @Test
+    public void shouldCountResultsAboveCapacityAsOverflow()
+    {
+        // arrange
+        LogContext logContext = LogContext.create(10);
+        Set<CommandDescriptor<String>> descriptors = givenDescriptors(25);
+
+        // act
+        whenExecuteWithLogContext(descriptors, logContext);
+
+        // assert
+        assertThat(logContext.getResults()).hasSize(10);
+        assertThat(logContext.getOverflowCount()).isEqualTo(15);
+    }
+
+    @Test
+    public void shouldCompareLogContextsByTheirResults()
+    {
+        // arrange
+        LogContext logContext = LogContext.create();
+        LogContext otherLogContext = LogContext.create(10);
+
+        // act
+        logContext.add(Result.ofResponse(SimpleTestCommand.RESPONSE));
+        otherLogContext.add(Result.ofResponse(SimpleTestCommand.RESPONSE));
+
+        // assert
+        assertThat(logContext).isEqualTo(otherLogContext)
+                              .hasSameHashCodeAs(otherLogContext)
+                              .hasToString("LogContext(results=" + logContext.getResults() + ")");
+    }
+
+    private Set<CommandDescriptor<String>> givenDescriptors(int numberOfCommands)
+    {
+        EndpointConfiguration endpointConfiguration =
+                aTestEndpointConfiguration().withBulkhead(numberOfCommands).build();
+        List<ICommand> commands = IntStream.range(0, numberOfCommands)
+                                           .mapToObj(SimpleTestCommand::new)
+                                           .collect(toList());
+
+        return createDescriptors(commands, endpointConfiguration);
+    }
+
+    private void whenExecuteWithLogContext(Set<CommandDescriptor<String>> descriptors, LogContext logContext)
+    {
+        connector.execute(descriptors)
+                 .subscriberContext(Context.of(LogContext.class, logContext))
+                 .blockLast();
+    }
+}
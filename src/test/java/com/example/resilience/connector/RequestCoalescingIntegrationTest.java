@@ -0,0 +1,123 @@
+package com.example.resilience.connector;
+
+import com.example.resilience.connector.command.DeadlineExceededException;
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.command.decorator.RequestCoalescer;
+import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.model.CacheKey;
+import com.example.resilience.connector.model.CommandDescriptor;
+import com.example.resilience.connector.model.Deadline;
+import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.testcommands.CountingTestCommand;
+import org.testng.annotations.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.aTestEndpointConfiguration;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestCoalescingIntegrationTest extends BaseConnectorIntegrationTest
+{
+    private static final String RESPONSE = CountingTestCommand.RESPONSE;
+
+    @Test
+    public void shouldExecuteConcurrentCommandsWithSameKeyOnce()
+    {
+        // arrange
+        AtomicInteger executionCounter = new AtomicInteger();
+        List<ICommand> commands = givenCountingCommands(10, "same-key", executionCounter);
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().withCoalescingEnabled(true)
+                                                                                  .build();
+        Set<CommandDescriptor<String>> descriptors = createDescriptors(commands, endpointConfiguration);
+
+        // act
+        List<Result<String>> results = connector.executeBlocking(descriptors);
+
+        // assert
+        assertThat(results).hasSize(10)
+                           .extracting(Result::getResponse)
+                           .allSatisfy(response -> assertThat(response).isEqualTo(CountingTestCommand.RESPONSE));
+        assertThat(executionCounter).hasValue(1);
+    }
+
+    @Test
+    public void shouldExecuteEachCommandWhenCoalescingIsDisabled()
+    {
+        // arrange
+        AtomicInteger executionCounter = new AtomicInteger();
+        List<ICommand> commands = givenCountingCommands(10, "same-key", executionCounter);
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().build();
+        Set<CommandDescriptor<String>> descriptors = createDescriptors(commands, endpointConfiguration);
+
+        // act
+        connector.executeBlocking(descriptors);
+
+        // assert
+        assertThat(executionCounter).hasValue(10);
+    }
+
+    @Test
+    public void shouldNotApplyFirstCallersDeadlineToCoalescedCallers()
+    {
+        // arrange
+        AtomicInteger executionCounter = new AtomicInteger();
+        List<ICommand> commands = givenCountingCommands(2, "same-key", executionCounter);
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration().withCoalescingEnabled(true)
+                                                                                  .build();
+
+        // act
+        Mono<Result<String>> shortDeadlineResult = whenExecuteConnector(
+                createDescriptor(endpointConfiguration, commands.get(0)))
+                .subscriberContext(Deadline.after(Duration.ofMillis(50))::putInto);
+        Mono<Result<String>> result = whenExecuteConnector(createDescriptor(endpointConfiguration, commands.get(1)));
+
+        // assert
+        StepVerifier.create(Mono.zip(shortDeadlineResult, result))
+                    .assertNext(results ->
+                    {
+                        assertThat(results.getT1().getThrowable()).isInstanceOf(DeadlineExceededException.class);
+                        assertThat(results.getT2().getResponse()).isEqualTo(CountingTestCommand.RESPONSE);
+                    })
+                    .verifyComplete();
+        assertThat(executionCounter).hasValue(1);
+    }
+
+    @Test
+    public void shouldAnswerCallersJoiningWhileTheResultIsEmitted()
+    {
+        // arrange
+        RequestCoalescer requestCoalescer = new RequestCoalescer();
+        Mono<Result<String>> source = Mono.fromCallable(() -> Result.<String>ofRawResponse(RESPONSE))
+                                          .subscribeOn(Schedulers.parallel());
+
+        // act
+        Flux<Result<String>> results = Flux.range(0, 3000)
+                                           .map(round -> CacheKey.valueOf("key-" + round))
+                                           .concatMap(cacheKey -> Flux.range(0, 8).flatMap(
+                                                   caller -> requestCoalescer.coalesce(cacheKey, null, source)
+                                                                             .subscribeOn(Schedulers.parallel())
+                                                                             .timeout(Duration.ofSeconds(2))));
+
+        // assert
+        StepVerifier.create(results.map(Result::getRawResponse).filter(RESPONSE::equals).count())
+                    .expectNext(24_000L)
+                    .verifyComplete();
+        assertThat(requestCoalescer.getInFlightCount()).isZero();
+    }
+
+    private List<ICommand> givenCountingCommands(int n, String key, AtomicInteger executionCounter)
+    {
+        return IntStream.rangeClosed(1, n)
+                        .mapToObj(i -> new CountingTestCommand(key, executionCounter, Duration.ofMillis(200)))
+                        .collect(toList());
+    }
+}
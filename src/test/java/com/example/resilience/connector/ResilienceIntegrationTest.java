@@ -1,12 +1,22 @@
 package com.example.resilience.connector;
 
+import com.example.resilience.connector.command.DeadlineExceededException;
 import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.configuration.AdaptiveConcurrencyConfiguration;
+import com.example.resilience.connector.configuration.BackoffConfiguration;
+import com.example.resilience.connector.configuration.BackoffStrategy;
+import com.example.resilience.connector.configuration.CircuitBreakerWindowConfiguration;
 import com.example.resilience.connector.configuration.EndpointConfiguration;
+import com.example.resilience.connector.configuration.HedgingConfiguration;
+import com.example.resilience.connector.configuration.RetryBudgetConfiguration;
 import com.example.resilience.connector.model.CommandDescriptor;
+import com.example.resilience.connector.model.Deadline;
 import com.example.resilience.connector.model.Result;
+import com.example.resilience.connector.testcommands.CountingTestCommand;
 import com.example.resilience.connector.testcommands.DelayedTestCommand;
 import com.example.resilience.connector.testcommands.ErrorTestCommand;
 import com.example.resilience.connector.testcommands.NTriesToSucceedTestCommand;
+import com.example.resilience.connector.testcommands.SlowFirstAttemptTestCommand;
 import com.example.resilience.connector.testcommands.TestCommandException;
 import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerOpenException;
@@ -20,6 +30,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import static com.example.resilience.connector.configuration.builder.EndpointConfigurationBuilder.aTestEndpointConfiguration;
@@ -134,6 +145,54 @@ public class ResilienceIntegrationTest extends BaseConnectorIntegrationTest
                     .verifyComplete();
     }
 
+    @Test
+    public void shouldNotOpenTimeWindowCircuitBelowMinimumNumberOfCalls()
+    {
+        // arrange
+        List<ICommand> commands = givenErrorCommands(5);
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withCircuitBreakerWindowConfiguration(
+                        new CircuitBreakerWindowConfiguration(true, Duration.ofSeconds(10), 10, 50, null, 100))
+                .build();
+
+        // act
+        Flux<Result<String>> results = Flux.fromIterable(commands)
+                                           .map(command -> createDescriptor(endpointConfiguration, command))
+                                           .concatMap(this::whenExecuteConnector);
+
+        // assert
+        StepVerifier.create(results)
+                    .thenConsumeWhile(result -> result.getThrowable() instanceof TestCommandException)
+                    .verifyComplete();
+    }
+
+    @Test
+    public void shouldActivateCircuitBreakerWithSlowCallRate()
+    {
+        // arrange
+        List<ICommand> commands = IntStream.rangeClosed(1, 5)
+                                           .mapToObj(i -> givenSlowCommand(Duration.ofMillis(100)))
+                                           .collect(toList());
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withCircuitBreakerWindowConfiguration(new CircuitBreakerWindowConfiguration(true,
+                        Duration.ofSeconds(10), 3, 50, Duration.ofMillis(50), 50))
+                .build();
+
+        // act
+        Flux<Result<String>> results = Flux.fromIterable(commands)
+                                           .map(command -> createDescriptor(endpointConfiguration, command))
+                                           .concatMap(this::whenExecuteConnector);
+
+        // assert
+        StepVerifier.create(results)
+                    .assertNext(result -> assertThat(result.getResponse()).isEqualTo(DelayedTestCommand.RESPONSE))
+                    .assertNext(result -> assertThat(result.getResponse()).isEqualTo(DelayedTestCommand.RESPONSE))
+                    .assertNext(result -> assertThat(result.getResponse()).isEqualTo(DelayedTestCommand.RESPONSE))
+                    .assertNext(result -> assertException(result, CircuitBreakerOpenException.class))
+                    .assertNext(result -> assertException(result, CircuitBreakerOpenException.class))
+                    .verifyComplete();
+    }
+
     @Test
     public void shouldActivateBulkhead()
     {
@@ -153,6 +212,27 @@ public class ResilienceIntegrationTest extends BaseConnectorIntegrationTest
                     .verifyComplete();
     }
 
+    @Test
+    public void shouldRejectAboveAdaptiveConcurrencyLimit()
+    {
+        // arrange
+        List<ICommand> commands = givenSlowCommands(3);
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withAdaptiveConcurrencyConfiguration(new AdaptiveConcurrencyConfiguration(true, 2, 1, 2))
+                .build();
+        Set<CommandDescriptor<String>> descriptors = createDescriptors(commands, endpointConfiguration);
+
+        // act
+        Flux<Result<String>> results = connector.execute(descriptors);
+
+        // assert
+        StepVerifier.create(results)
+                    .assertNext(result -> assertException(result, BulkheadFullException.class))
+                    .expectNext(Result.ofResponse(DelayedTestCommand.RESPONSE))
+                    .expectNext(Result.ofResponse(DelayedTestCommand.RESPONSE))
+                    .verifyComplete();
+    }
+
     @Test
     public void shouldSucceedWithRetry()
     {
@@ -185,6 +265,133 @@ public class ResilienceIntegrationTest extends BaseConnectorIntegrationTest
                     .verifyComplete();
     }
 
+    @Test
+    public void shouldWaitForBackoffBetweenRetries()
+    {
+        ICommand command = givenErrorCommand();
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withRetries(1)
+                .withBackoffConfiguration(givenFixedBackoff(Duration.ofMillis(300)))
+                .build();
+        CommandDescriptor<String> descriptor = createDescriptor(endpointConfiguration, command);
+
+        //act
+        Mono<Result<String>> resultMono = whenExecuteConnector(descriptor);
+
+        // assert
+        Duration duration = StepVerifier.create(resultMono)
+                                        .assertNext(result -> assertException(result, TestCommandException.class))
+                                        .verifyComplete();
+
+        assertThat(duration).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+    }
+
+    @Test
+    public void shouldNotRetryWhenRetryBudgetIsExhausted()
+    {
+        ICommand command = givenErrorCommand();
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withRetries(1)
+                .withBackoffConfiguration(givenFixedBackoff(Duration.ofMillis(300)))
+                .withRetryBudgetConfiguration(new RetryBudgetConfiguration(true, 0, 0))
+                .build();
+        CommandDescriptor<String> descriptor = createDescriptor(endpointConfiguration, command);
+
+        //act
+        Mono<Result<String>> resultMono = whenExecuteConnector(descriptor);
+
+        // assert
+        Duration duration = StepVerifier.create(resultMono)
+                                        .assertNext(result -> assertException(result, TestCommandException.class))
+                                        .verifyComplete();
+
+        assertThat(duration).isLessThan(Duration.ofMillis(300));
+    }
+
+    @Test
+    public void shouldAnswerFromHedgedAttemptWhenFirstAttemptIsSlow()
+    {
+        ICommand command = new SlowFirstAttemptTestCommand(Duration.ofSeconds(3), Duration.ofMillis(50));
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withHedgingConfiguration(new HedgingConfiguration(true, Duration.ofMillis(100), 95, 0.1, 5))
+                .build();
+        CommandDescriptor<String> descriptor = createDescriptor(endpointConfiguration, command);
+
+        //act
+        Mono<String> resultMono = whenExecuteConnectorAndExtractResponse(descriptor);
+
+        // assert
+        StepVerifier.create(resultMono)
+                    .expectNext(SlowFirstAttemptTestCommand.RESPONSE)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void shouldAnswerFromHedgedAttemptWhenFirstAttemptFailsWhileHedgeIsRunning()
+    {
+        ICommand command = new SlowFirstAttemptTestCommand(Duration.ofMillis(200), Duration.ofMillis(300), true);
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withHedgingConfiguration(new HedgingConfiguration(true, Duration.ofMillis(100), 95, 0.1, 5))
+                .build();
+        CommandDescriptor<String> descriptor = createDescriptor(endpointConfiguration, command);
+
+        //act
+        Mono<String> resultMono = whenExecuteConnectorAndExtractResponse(descriptor);
+
+        // assert
+        StepVerifier.create(resultMono)
+                    .expectNext(SlowFirstAttemptTestCommand.RESPONSE)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void shouldStopRetryingWhenDeadlineIsReached()
+    {
+        ICommand command = givenSlowCommand(Duration.ofSeconds(1));
+        EndpointConfiguration endpointConfiguration = aTestEndpointConfiguration()
+                .withTimeout(Duration.ofMillis(200))
+                .withRetries(3)
+                .withDeadline(Duration.ofMillis(500))
+                .build();
+        CommandDescriptor<String> descriptor = createDescriptor(endpointConfiguration, command);
+
+        //act
+        Mono<Result<String>> resultMono = whenExecuteConnector(descriptor);
+
+        // assert
+        Duration duration = StepVerifier.create(resultMono)
+                                        .assertNext(result -> assertException(result, TimeoutException.class))
+                                        .verifyComplete();
+
+        assertThat(duration).isLessThan(Duration.ofMillis(800));
+    }
+
+    @Test
+    public void shouldFailFastWhenCallerDeadlineIsExpired()
+    {
+        AtomicInteger executionCounter = new AtomicInteger();
+        ICommand command = new CountingTestCommand("deadline", executionCounter, Duration.ofMillis(10));
+        CommandDescriptor<String> descriptor = createDescriptor(aTestEndpointConfiguration().build(), command);
+
+        //act
+        Mono<Result<String>> resultMono = whenExecuteConnector(descriptor)
+                .subscriberContext(Deadline.after(Duration.ZERO)::putInto);
+
+        // assert
+        StepVerifier.create(resultMono)
+                    .assertNext(result -> assertException(result, DeadlineExceededException.class))
+                    .verifyComplete();
+
+        assertThat(executionCounter).hasValue(0);
+    }
+
+    private BackoffConfiguration givenFixedBackoff(Duration delay)
+    {
+        return new BackoffConfiguration(BackoffStrategy.FIXED, delay, delay);
+    }
+
     private ICommand givenSlowCommand(Duration commandDuration)
     {
         return new DelayedTestCommand(commandDuration);
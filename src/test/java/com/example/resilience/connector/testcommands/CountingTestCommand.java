@@ -0,0 +1,38 @@
+package com.example.resilience.connector.testcommands;
+
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.model.CacheKey;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CountingTestCommand implements ICommand
+{
+    public static final String RESPONSE = "Counted response.";
+
+    private final String key;
+    private final AtomicInteger executionCounter;
+    private final Duration commandDuration;
+
+    public CountingTestCommand(String key, AtomicInteger executionCounter, Duration commandDuration)
+    {
+        this.key = key;
+        this.executionCounter = executionCounter;
+        this.commandDuration = commandDuration;
+    }
+
+    @Override
+    public Mono<String> execute()
+    {
+        return Mono.fromSupplier(executionCounter::incrementAndGet)
+                   .delayElement(commandDuration)
+                   .map(count -> RESPONSE);
+    }
+
+    @Override
+    public CacheKey generateCacheKey()
+    {
+        return CacheKey.valueOf(key);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.resilience.connector.testcommands;
+
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.model.CacheKey;
+import lombok.ToString;
+import reactor.core.publisher.Mono;
+
+@ToString
+public class LargeResponseTestCommand implements ICommand
+{
+    private final int id;
+    private final int items;
+
+    public LargeResponseTestCommand(int id, int items)
+    {
+        this.id = id;
+        this.items = items;
+    }
+
+    @Override
+    public Mono<String> execute()
+    {
+        return Mono.fromCallable(() -> response(items));
+    }
+
+    @Override
+    public CacheKey generateCacheKey()
+    {
+        return CacheKey.valueOf(String.valueOf(id));
+    }
+
+    public static String response(int items)
+    {
+        StringBuilder response = new StringBuilder("[");
+
+        for (int i = 0; i < items; i++)
+        {
+            response.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"active\":true}");
+        }
+
+        return response.append("]").toString();
+    }
+}
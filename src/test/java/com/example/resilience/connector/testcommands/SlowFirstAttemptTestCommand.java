@@ -0,0 +1,58 @@
+package com.example.resilience.connector.testcommands;
+
+import com.example.resilience.connector.command.ICommand;
+import com.example.resilience.connector.model.CacheKey;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlowFirstAttemptTestCommand implements ICommand
+{
+    public static final String RESPONSE = "Fast enough.";
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final Duration slowDuration;
+    private final Duration fastDuration;
+    private final boolean firstAttemptFailing;
+
+    public SlowFirstAttemptTestCommand(Duration slowDuration, Duration fastDuration)
+    {
+        this(slowDuration, fastDuration, false);
+    }
+
+    public SlowFirstAttemptTestCommand(Duration slowDuration, Duration fastDuration, boolean firstAttemptFailing)
+    {
+        this.slowDuration = slowDuration;
+        this.fastDuration = fastDuration;
+        this.firstAttemptFailing = firstAttemptFailing;
+    }
+
+    @Override
+    public Mono<String> execute()
+    {
+        return Mono.defer(() ->
+        {
+            if (attempts.getAndIncrement() > 0)
+            {
+                return Mono.delay(fastDuration).map(k -> RESPONSE);
+            }
+
+            return firstAttemptFailing
+                    ? Mono.delay(slowDuration).then(Mono.error(new TestCommandException("First attempt failed.")))
+                    : Mono.delay(slowDuration).map(k -> RESPONSE);
+        });
+    }
+
+    @Override
+    public boolean isIdempotent()
+    {
+        return true;
+    }
+
+    @Override
+    public CacheKey generateCacheKey()
+    {
+        return CacheKey.valueOf(slowDuration.toString());
+    }
+}